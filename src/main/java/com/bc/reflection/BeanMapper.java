@@ -0,0 +1,190 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bc.reflection;
+
+import com.bc.reflection.accessor.AccessorFactory;
+import com.bc.reflection.accessor.BeanAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Converts beans to maps and back and copies properties between beans.
+ * <p>
+ * The readable and writable properties of each class, and the properties to
+ * copy between each pair of classes, are resolved once and cached. Each 
+ * conversion is then a single loop over the precomputed accessors.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2018 2:40:16 PM
+ * @see ClassProperties
+ */
+public class BeanMapper {
+    
+    private static final class Plan {
+        
+        private final ClassProperties properties;
+        
+        private final int [] readable;
+        
+        private final int [] writable;
+        
+        /**
+         * Target class to alternating source and target property indexes.
+         * The values are held by each target class, not by this plan, hence
+         * no target class is kept from being unloaded by its source class.
+         */
+        private final ClassValue<int[]> copyPlans = new ClassValue<int[]>() {
+            @Override
+            protected int[] computeValue(Class<?> targetType) {
+                return newCopyPlan(targetType);
+            }
+        };
+        
+        private Plan(ClassProperties properties) {
+            this.properties = properties;
+            final int size = properties.size();
+            final List<Integer> r = new ArrayList<>(size);
+            final List<Integer> w = new ArrayList<>(size);
+            for(int i=0; i<size; i++) {
+                final Property property = properties.getProperty(i);
+                if(property.isReadable()) {
+                    r.add(i);
+                }
+                if(property.isWritable()) {
+                    w.add(i);
+                }
+            }
+            this.readable = r.stream().mapToInt(Integer::intValue).toArray();
+            this.writable = w.stream().mapToInt(Integer::intValue).toArray();
+        }
+        
+        private int [] getCopyPlan(Class<?> targetType) {
+            return copyPlans.get(targetType);
+        }
+        
+        private int [] newCopyPlan(Class<?> targetType) {
+            final ClassProperties target = ClassProperties.of(targetType);
+            final int [] pairs = new int[readable.length * 2];
+            int n = 0;
+            for(int index : readable) {
+                final Property dst = target.getProperty(properties.getProperty(index).getName());
+                if(dst != null && dst.isWritable()) {
+                    pairs[n++] = index;
+                    pairs[n++] = dst.getIndex();
+                }
+            }
+            return Arrays.copyOf(pairs, n);
+        }
+    }
+    
+    private static final ClassValue<Plan> PLANS = new ClassValue<Plan>() {
+        @Override
+        protected Plan computeValue(Class<?> type) {
+            return new Plan(ClassProperties.of(type));
+        }
+    };
+    
+    private final AccessorFactory accessorFactory;
+
+    public BeanMapper() {
+        this(AccessorFactory.getDefault());
+    }
+
+    public BeanMapper(AccessorFactory accessorFactory) {
+        this.accessorFactory = Objects.requireNonNull(accessorFactory);
+    }
+    
+    /**
+     * @param bean The bean whose readable properties are to be returned
+     * @return A map of property name to property value, for each readable 
+     * property of the bean.
+     */
+    public Map<String, Object> toMap(Object bean) {
+        final Class<?> type = bean.getClass();
+        final Plan plan = PLANS.get(type);
+        final BeanAccessor accessor = accessorFactory.getAccessor(type);
+        final int [] readable = plan.readable;
+        final Map<String, Object> output = new LinkedHashMap<>(readable.length * 4 / 3 + 1);
+        int index = -1;
+        try{
+            for(int i=0; i<readable.length; i++) {
+                index = readable[i];
+                output.put(plan.properties.getProperty(index).getName(), accessor.get(bean, index));
+            }
+        }catch(Exception e) {
+            throw new UnsupportedOperationException("Error getting value of property: " + 
+                    plan.properties.getProperty(index).getName() + " from: " + bean, e);
+        }
+        return output;
+    }
+    
+    /**
+     * Entries whose keys do not match a writable property of the bean are ignored.
+     * @param <T> The type of the bean
+     * @param bean The bean whose properties are to be set
+     * @param values The values to set, keyed by property name
+     * @return The bean
+     */
+    public <T> T populate(T bean, Map<String, ?> values) {
+        final Class<?> type = bean.getClass();
+        final ClassProperties properties = PLANS.get(type).properties;
+        final BeanAccessor accessor = accessorFactory.getAccessor(type);
+        for(Map.Entry<String, ?> entry : values.entrySet()) {
+            final Property property = properties.getProperty(entry.getKey());
+            if(property == null || !property.isWritable()) {
+                continue;
+            }
+            try{
+                accessor.set(bean, property.getIndex(), entry.getValue());
+            }catch(Exception e) {
+                throw new UnsupportedOperationException("Error setting value of property: " + 
+                        property.getName() + " to: " + entry.getValue() + " on: " + bean, e);
+            }
+        }
+        return bean;
+    }
+    
+    /**
+     * Copies the value of each readable property of the source to the 
+     * writable property of the same name on the target.
+     * @param <T> The type of the target
+     * @param source The bean to copy from
+     * @param target The bean to copy to
+     * @return The target
+     */
+    public <T> T copyProperties(Object source, T target) {
+        final Class<?> sourceType = source.getClass();
+        final Class<?> targetType = target.getClass();
+        final Plan plan = PLANS.get(sourceType);
+        final int [] pairs = plan.getCopyPlan(targetType);
+        final BeanAccessor reader = accessorFactory.getAccessor(sourceType);
+        final BeanAccessor writer = accessorFactory.getAccessor(targetType);
+        int i = 0;
+        try{
+            for(; i<pairs.length; i+=2) {
+                writer.set(target, pairs[i + 1], reader.get(source, pairs[i]));
+            }
+        }catch(Exception e) {
+            throw new UnsupportedOperationException("Error copying property: " + 
+                    plan.properties.getProperty(pairs[i]).getName() + 
+                    " from: " + source + " to: " + target, e);
+        }
+        return target;
+    }
+}
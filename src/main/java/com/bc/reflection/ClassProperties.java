@@ -0,0 +1,259 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection;
+
+import com.bc.reflection.function.MethodTraits;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The getter/setter based properties of a class, resolved once per class.
+ * <p>
+ * Properties are matched to names the same way as
+ * {@link ReflectionUtil#getMethod(boolean, java.lang.reflect.Method[], java.lang.String)}
+ * i.e the part of the method name starting at its first upper case character
+ * must equal the capitalized name.
+ * </p>
+ * <p>
+ * The methods declared by the class, then by each superclass up to but 
+ * excluding {@link java.lang.Object}, then by the interfaces of all these 
+ * are merged, hence inherited properties are as cheap to access as declared 
+ * ones. For each property the first getter and the first setter found in 
+ * that order win, so that overriding methods take precedence. Bridge and 
+ * other synthetic methods, and private methods of supertypes, are skipped.
+ * </p>
+ * <p>
+ * Each property is also matched to the first instance field of the same 
+ * name, in the same class order. Non private instance fields which match no
+ * getter or setter become field only properties, which follow the getter/setter
+ * properties and are named as the field is declared, e.g <tt>URL</tt>.
+ * </p>
+ * <p>
+ * Instances are immutable and cached per class in a {@link java.lang.ClassValue},
+ * hence thread safe. Use {@link #of(java.lang.Class)} to access them.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2018 9:10:12 AM
+ */
+public final class ClassProperties {
+
+    private static final ClassValue<ClassProperties> CACHE = new ClassValue<ClassProperties>() {
+        @Override
+        protected ClassProperties computeValue(Class<?> type) {
+            return new ClassProperties(type);
+        }
+    };
+
+    public static ClassProperties of(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    private final Class<?> type;
+
+    private final Property [] properties;
+
+    /**
+     * Indexes each property by its key, i.e its capitalized name
+     */
+    private final PropertyNameIndex nameIndex;
+
+    private ClassProperties(Class<?> type) {
+
+        this.type = type;
+
+        final Map<String, Method> getters = new LinkedHashMap<>();
+        final Map<String, Method> setters = new LinkedHashMap<>();
+        
+        final Set<Class<?>> interfaces = new LinkedHashSet<>();
+        
+        for(Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            this.collect(c, c != type, getters, setters);
+            this.collectInterfaces(c, interfaces);
+        }
+        
+        for(Class<?> anInterface : interfaces) {
+            this.collect(anInterface, true, getters, setters);
+        }
+
+        final List<String> keys = new ArrayList<>(getters.keySet());
+        for(String key : setters.keySet()) {
+            if(!getters.containsKey(key)) {
+                keys.add(key);
+            }
+        }
+        
+        final Map<String, Field> fields = new LinkedHashMap<>();
+        for(Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for(Field field : c.getDeclaredFields()) {
+                final int modifiers = field.getModifiers();
+                if(!Modifier.isStatic(modifiers) && !field.isSynthetic()) {
+                    fields.putIfAbsent(capitalize(field.getName()), field);
+                }
+            }
+        }
+        for(Map.Entry<String, Field> entry : fields.entrySet()) {
+            if(!Modifier.isPrivate(entry.getValue().getModifiers()) && 
+                    !getters.containsKey(entry.getKey()) && !setters.containsKey(entry.getKey())) {
+                keys.add(entry.getKey());
+            }
+        }
+
+        this.properties = new Property[keys.size()];
+
+        for(int i=0; i<properties.length; i++) {
+            final String key = keys.get(i);
+            final Method getter = getters.get(key);
+            final Method setter = setters.get(key);
+            final Field field = fields.get(key);
+            if(getter == null && setter == null) {
+                // Field only, named as declared e.g URL or Count
+                properties[i] = new Property(field.getName(), i, null, null, field);
+                continue;
+            }
+            final String name = Character.toLowerCase(key.charAt(0)) + key.substring(1);
+            properties[i] = new Property(name, i, getter, setter, field != null && 
+                    (field.getName().equals(name) || field.getName().equals(key)) ? field : null);
+        }
+        
+        this.nameIndex = new PropertyNameIndex(keys.toArray(new String[0]));
+    }
+
+    private void collect(Class<?> declaringClass, boolean inherited, 
+            Map<String, Method> getters, Map<String, Method> setters) {
+        
+        final MethodTraits traits = MethodTraits.of(declaringClass);
+        
+        for(int i=0; i<traits.size(); i++) {
+            
+            if(!traits.hasAll(i, MethodTraits.GETTER) && !traits.hasAll(i, MethodTraits.SETTER)) {
+                continue;
+            }
+            
+            if(traits.hasAll(i, MethodTraits.SYNTHETIC)) {
+                continue;
+            }
+            
+            final Method method = traits.getMethod(i);
+            
+            if(inherited && (Modifier.isPrivate(method.getModifiers()) || 
+                    (declaringClass.isInterface() && traits.hasAll(i, MethodTraits.STATIC)))) {
+                // Not inherited
+                continue;
+            }
+
+            final String key = getKey(method.getName());
+
+            if(key == null) {
+                continue;
+            }
+
+            // First match wins, as in ReflectionUtil#getMethod
+            (traits.hasAll(i, MethodTraits.GETTER) ? getters : setters).putIfAbsent(key, method);
+        }
+    }
+    
+    private void collectInterfaces(Class<?> aClass, Set<Class<?>> output) {
+        for(Class<?> anInterface : aClass.getInterfaces()) {
+            if(output.add(anInterface)) {
+                this.collectInterfaces(anInterface, output);
+            }
+        }
+    }
+
+    private static String capitalize(String name) {
+        return name.isEmpty() ? name : Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * @param methodName The name of the getter/setter method
+     * @return The part of the method name starting from its first upper case
+     * character or null if the method name has no upper case character.
+     */
+    static String getKey(String methodName) {
+        for(int i=0; i<methodName.length(); i++) {
+            if(Character.isUpperCase(methodName.charAt(i))) {
+                return methodName.substring(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param name The name of the property to return
+     * @return The property with the specified name or null if none exists
+     */
+    public Property getProperty(String name) {
+        return this.getProperty(name, false, false);
+    }
+
+    /**
+     * Lookups do not allocate. With <tt>ignoreUnderscores</tt> the name is 
+     * matched as by {@link ReflectionUtil#getMethodAlphaNumeric(boolean, java.lang.reflect.Method[], java.lang.String)}
+     * e.g <tt>first_name</tt> matches <tt>getFirstname</tt>. With 
+     * <tt>ignoreCase</tt> it would also match <tt>getFirstName</tt>.
+     * @param name The name of the property to return
+     * @param ignoreCase If true, differences in case are ignored
+     * @param ignoreUnderscores If true, underscores in the name are ignored
+     * @return The property matching the specified name or null if none exists
+     */
+    public Property getProperty(CharSequence name, boolean ignoreCase, boolean ignoreUnderscores) {
+        if(name == null) {
+            return null;
+        }
+        final int index = nameIndex.indexOf(name, ignoreCase, ignoreUnderscores);
+        return index == -1 ? null : properties[index];
+    }
+
+    public Property getProperty(int index) {
+        return properties[index];
+    }
+
+    /**
+     * @param setter boolean, if true the setter is returned otherwise the getter
+     * @param name The name of the property whose getter/setter is to be returned
+     * @return The getter or setter for the named property or null if none exists
+     */
+    public Method getMethod(boolean setter, String name) {
+        final Property property = this.getProperty(name);
+        return property == null ? null : property.getMethod(setter);
+    }
+
+    public List<Property> getProperties() {
+        return Collections.unmodifiableList(Arrays.asList(properties));
+    }
+
+    public int size() {
+        return properties.length;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    @Override
+    public String toString() {
+        return "ClassProperties{" + "type=" + type.getName() + ", properties=" + Arrays.toString(properties) + '}';
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Creates collections pre-sized for an expected number of elements.
+ * <p>
+ * By default, the collection type is instantiated as by 
+ * {@link ReflectionUtil#newInstanceForCollectionType(java.lang.Class)}, with
+ * an initial capacity for the expected size where the implementation 
+ * supports one. Custom implementations may be registered per collection 
+ * type, e.g:
+ * </p>
+ * <pre><code>
+ * final CollectionFactory factory = new CollectionFactory();
+ * factory.register(Set.class, CollectionFactory.ENUM_SET);
+ * factory.register(Map.class, CollectionFactory.ENUM_MAP);
+ * // An EnumSet
+ * final Set&lt;TimeUnit&gt; units = (Set)factory.newInstance(Set.class, TimeUnit.class, 4);
+ * </code></pre>
+ * Thread safe.
+ * @author Chinomso Bassey Ikwuagwu on Oct 21, 2018 5:12:08 PM
+ */
+public class CollectionFactory {
+    
+    /**
+     * A custom collection implementation
+     */
+    @FunctionalInterface
+    public interface Creator {
+        /**
+         * @param elementType The type of the elements, or for maps of the keys.
+         * May be null if unknown.
+         * @param expectedSize The number of elements expected
+         * @return A new collection, or null to use the default implementation
+         */
+        Object create(Class<?> elementType, int expectedSize);
+    }
+    
+    /**
+     * Creates an {@link java.util.EnumSet} for enum elements
+     */
+    public static final Creator ENUM_SET = (elementType, expectedSize) -> 
+            elementType != null && elementType.isEnum() ? newEnumSet(elementType) : null;
+    
+    /**
+     * Creates an {@link java.util.EnumMap} for enum keys
+     */
+    public static final Creator ENUM_MAP = (keyType, expectedSize) -> 
+            keyType != null && keyType.isEnum() ? newEnumMap(keyType) : null;
+    
+    @SuppressWarnings("unchecked")
+    private static <E extends Enum<E>> EnumSet<E> newEnumSet(Class<?> elementType) {
+        return EnumSet.noneOf((Class<E>)elementType);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <K extends Enum<K>> EnumMap<K, Object> newEnumMap(Class<?> keyType) {
+        return new EnumMap<>((Class<K>)keyType);
+    }
+    
+    private static final class DefaultInstanceHolder {
+        private static final CollectionFactory INSTANCE = new CollectionFactory(false);
+    }
+    
+    /**
+     * @return A shared instance with no custom implementations registered. 
+     * The instance is unmodifiable; its <tt>register</tt> and 
+     * <tt>unregister</tt> methods throw {@link UnsupportedOperationException}.
+     */
+    public static CollectionFactory getDefault() {
+        return DefaultInstanceHolder.INSTANCE;
+    }
+    
+    private final ConcurrentMap<Class<?>, Creator> creators = new ConcurrentHashMap<>();
+    
+    private final boolean modifiable;
+
+    public CollectionFactory() { 
+        this(true);
+    }
+    
+    private CollectionFactory(boolean modifiable) { 
+        this.modifiable = modifiable;
+    }
+    
+    /**
+     * @param type The collection type, which must match the type later 
+     * passed to the <tt>newInstance</tt> methods exactly
+     * @param creator The creator of collections of the type
+     * @return The creator previously registered for the type, or null if none
+     * @throws UnsupportedOperationException If this is the {@link #getDefault() default} instance
+     */
+    public Creator register(Class<?> type, Creator creator) {
+        this.requireModifiable();
+        return creators.put(Objects.requireNonNull(type), Objects.requireNonNull(creator));
+    }
+    
+    /**
+     * @param type The collection type
+     * @return The creator previously registered for the type, or null if none
+     * @throws UnsupportedOperationException If this is the {@link #getDefault() default} instance
+     */
+    public Creator unregister(Class<?> type) {
+        this.requireModifiable();
+        return creators.remove(type);
+    }
+    
+    private void requireModifiable() {
+        if(!modifiable) {
+            throw new UnsupportedOperationException(
+                    "The default CollectionFactory is unmodifiable, create a new instance instead");
+        }
+    }
+    
+    /**
+     * @param type The type to instantiate, typically a collection interface
+     * @param expectedSize The number of elements expected
+     * @return A new instance of the type, pre-sized where supported
+     * @throws UnsupportedOperationException If the type has neither a public
+     * no-arg constructor nor an implementation
+     * @see #newInstance(java.lang.Class, java.lang.Class, int) 
+     */
+    public Object newInstance(Class<?> type, int expectedSize) {
+        return this.newInstance(type, null, expectedSize);
+    }
+    
+    /**
+     * @param type The type to instantiate, typically a collection interface
+     * @param elementType The type of the elements, or for maps of the keys. 
+     * May be null. Only used by registered creators.
+     * @param expectedSize The number of elements expected
+     * @return A new instance of the type, created by the creator registered 
+     * for the type if any, otherwise pre-sized where supported
+     * @throws UnsupportedOperationException If the type has neither a public
+     * no-arg constructor nor an implementation
+     */
+    public Object newInstance(Class<?> type, Class<?> elementType, int expectedSize) {
+        if(!creators.isEmpty()) {
+            final Creator creator = creators.get(type);
+            if(creator != null) {
+                final Object output = creator.create(elementType, expectedSize);
+                if(output != null) {
+                    return output;
+                }
+            }
+        }
+        return Instantiators.forSizedCollectionType(type).apply(expectedSize);
+    }
+    
+    /**
+     * @return The registered creators keyed by collection type
+     */
+    public Map<Class<?>, Creator> getCreators() {
+        return Collections.unmodifiableMap(creators);
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The actual type arguments of the generic types of methods and fields, 
+ * parsed from their generic signatures once and cached per declaring class.
+ * <p>
+ * Type variables are returned as declared e.g <tt>T</tt> for a method of
+ * <tt>Base&lt;T&gt;</tt>. Arrays returned by public methods are copies, 
+ * hence may be modified by callers.
+ * </p>
+ * Thread safe.
+ * @author Chinomso Bassey Ikwuagwu on Oct 22, 2018 9:07:51 AM
+ */
+public final class GenericTypes {
+    
+    private static final Type [] NONE = new Type[0];
+    
+    /**
+     * The resolved type arguments of a method
+     */
+    private static final class MethodTypes {
+        
+        /**
+         * Null if the return type is not parameterized
+         */
+        private final Type [] returnTypeArguments;
+        
+        /**
+         * For each parameter, the type arguments or null if the parameter 
+         * type is not parameterized
+         */
+        private final Type [][] parameterTypeArguments;
+        
+        private MethodTypes(Method method) {
+            this.returnTypeArguments = typeArgumentsOf(method.getGenericReturnType());
+            final Type [] parameterTypes = method.getGenericParameterTypes();
+            this.parameterTypeArguments = new Type[parameterTypes.length][];
+            for(int i=0; i<parameterTypes.length; i++) {
+                parameterTypeArguments[i] = typeArgumentsOf(parameterTypes[i]);
+            }
+        }
+    }
+    
+    private static final ClassValue<ConcurrentMap<Member, Object>> CACHE = 
+            new ClassValue<ConcurrentMap<Member, Object>>() {
+        @Override
+        protected ConcurrentMap<Member, Object> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private GenericTypes() { }
+    
+    /**
+     * @param method The method whose return type arguments are to be returned
+     * @return The actual type arguments of the return type, or null if the 
+     * return type is not parameterized
+     */
+    public static Type [] getReturnTypeArguments(Method method) {
+        final Type [] output = of(method).returnTypeArguments;
+        return output == null ? null : output.clone();
+    }
+    
+    /**
+     * Unlike {@link #getReturnTypeArguments(java.lang.reflect.Method)} no array is copied.
+     * @param method The method whose return type argument is to be returned
+     * @param index The position of the type argument
+     * @return The type argument at the specified position, or null if the 
+     * return type is not parameterized or has no such argument
+     */
+    public static Type getReturnTypeArgument(Method method, int index) {
+        return argumentAt(of(method).returnTypeArguments, index);
+    }
+    
+    /**
+     * @param method The method whose parameter type arguments are to be returned
+     * @return The actual type arguments of each parameterized parameter type, 
+     * in order of the parameters. Parameters whose types are not 
+     * parameterized are skipped.
+     */
+    public static List<Type[]> getParameterTypeArguments(Method method) {
+        final Type [][] parameterTypeArguments = of(method).parameterTypeArguments;
+        final List<Type[]> output = new ArrayList<>(parameterTypeArguments.length);
+        for(Type [] arguments : parameterTypeArguments) {
+            if(arguments != null) {
+                output.add(arguments.clone());
+            }
+        }
+        return output;
+    }
+    
+    /**
+     * No array is copied by this method.
+     * @param method The method whose parameter type argument is to be returned
+     * @param parameter The position of the parameter
+     * @param index The position of the type argument
+     * @return The type argument at the specified position of the specified
+     * parameter's type, or null if the parameter type is not parameterized 
+     * or has no such argument
+     */
+    public static Type getParameterTypeArgument(Method method, int parameter, int index) {
+        final Type [][] parameterTypeArguments = of(method).parameterTypeArguments;
+        return parameter < 0 || parameter >= parameterTypeArguments.length ? null :
+                argumentAt(parameterTypeArguments[parameter], index);
+    }
+    
+    /**
+     * @param field The field whose type arguments are to be returned
+     * @return The actual type arguments of the field's type, or an empty 
+     * array if the type is not parameterized
+     */
+    public static Type [] getTypeArguments(Field field) {
+        final Type [] output = of(field);
+        return output.length == 0 ? output : output.clone();
+    }
+    
+    /**
+     * No array is copied by this method.
+     * @param field The field whose type argument is to be returned
+     * @param index The position of the type argument
+     * @return The type argument at the specified position, or null if the 
+     * field's type is not parameterized or has no such argument
+     */
+    public static Type getTypeArgument(Field field, int index) {
+        return argumentAt(of(field), index);
+    }
+    
+    private static MethodTypes of(Method method) {
+        final ConcurrentMap<Member, Object> cache = CACHE.get(method.getDeclaringClass());
+        Object output = cache.get(method);
+        if(output == null) {
+            output = new MethodTypes(method);
+            final Object existing = cache.putIfAbsent(method, output);
+            if(existing != null) {
+                output = existing;
+            }
+        }
+        return (MethodTypes)output;
+    }
+    
+    private static Type [] of(Field field) {
+        final ConcurrentMap<Member, Object> cache = CACHE.get(field.getDeclaringClass());
+        Object output = cache.get(field);
+        if(output == null) {
+            final Type [] arguments = typeArgumentsOf(field.getGenericType());
+            output = arguments == null ? NONE : arguments;
+            final Object existing = cache.putIfAbsent(field, output);
+            if(existing != null) {
+                output = existing;
+            }
+        }
+        return (Type[])output;
+    }
+    
+    private static Type [] typeArgumentsOf(Type type) {
+        return type instanceof ParameterizedType ? ((ParameterizedType)type).getActualTypeArguments() : null;
+    }
+    
+    private static Type argumentAt(Type [] arguments, int index) {
+        return arguments == null || index < 0 || index >= arguments.length ? null : arguments[index];
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Instantiators cached per class, so that the constructor of each class, or
+ * for collection types the implementation class, is resolved once.
+ * <p>
+ * Constructors are invoked via a {@link java.lang.invoke.MethodHandle}. 
+ * Where a class can not be instantiated, that decision is cached as well 
+ * and the instantiator throws when called.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 21, 2018 4:02:37 PM
+ */
+final class Instantiators {
+    
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+    
+    /**
+     * The implementations of collection types, in order of preference
+     */
+    private static final Class<?> [] IMPLEMENTATIONS = {
+        ArrayList.class, LinkedHashSet.class, TreeSet.class, ArrayDeque.class, 
+        LinkedHashMap.class, TreeMap.class, ConcurrentHashMap.class, ConcurrentSkipListMap.class
+    };
+    
+    private static final ClassValue<Supplier<Object>> CONSTRUCTORS = new ClassValue<Supplier<Object>>() {
+        @Override
+        protected Supplier<Object> computeValue(Class<?> type) {
+            return newConstructorInstantiator(type);
+        }
+    };
+    
+    private static final ClassValue<Supplier<Object>> COLLECTIONS = new ClassValue<Supplier<Object>>() {
+        @Override
+        protected Supplier<Object> computeValue(Class<?> type) {
+            return newCollectionInstantiator(type);
+        }
+    };
+
+    private static final ClassValue<IntFunction<Object>> SIZED_COLLECTIONS = new ClassValue<IntFunction<Object>>() {
+        @Override
+        protected IntFunction<Object> computeValue(Class<?> type) {
+            return newSizedCollectionInstantiator(type);
+        }
+    };
+
+    private Instantiators() { }
+    
+    /**
+     * @param type The class to instantiate
+     * @return A supplier which invokes the public no-arg constructor of the 
+     * class, or which throws a RuntimeException if there is no such constructor
+     */
+    static Supplier<Object> forClass(Class<?> type) {
+        return CONSTRUCTORS.get(type);
+    }
+    
+    /**
+     * @param type The class to instantiate, typically a collection interface
+     * @return A supplier of instances of the class if it has a public no-arg 
+     * constructor, otherwise of its implementation class. If the class 
+     * has neither, the supplier throws an UnsupportedOperationException.
+     * @see #getImplementation(java.lang.Class) 
+     */
+    static Supplier<Object> forCollectionType(Class<?> type) {
+        return COLLECTIONS.get(type);
+    }
+    
+    /**
+     * @param type The class to instantiate, typically a collection interface
+     * @return A function of the expected size to an instance of the class as 
+     * supplied by {@link #forCollectionType(java.lang.Class)}, pre-sized where 
+     * the instantiated class is one of <tt>ArrayList, ArrayDeque, HashSet, 
+     * LinkedHashSet, HashMap, LinkedHashMap, ConcurrentHashMap</tt>.
+     */
+    static IntFunction<Object> forSizedCollectionType(Class<?> type) {
+        return SIZED_COLLECTIONS.get(type);
+    }
+    
+    /**
+     * @param type The collection type
+     * @return The first of <tt>ArrayList, LinkedHashSet, TreeSet, ArrayDeque, 
+     * LinkedHashMap, TreeMap, ConcurrentHashMap, ConcurrentSkipListMap</tt> 
+     * which is assignable to the collection type, or null if none is.
+     */
+    static Class<?> getImplementation(Class<?> type) {
+        for(Class<?> implementation : IMPLEMENTATIONS) {
+            if(type.isAssignableFrom(implementation)) {
+                return implementation;
+            }
+        }
+        return null;
+    }
+    
+    private static Supplier<Object> newCollectionInstantiator(Class<?> type) {
+        if(!type.isInterface() && !Modifier.isAbstract(type.getModifiers()) && 
+                getPublicConstructor(type) != null) {
+            return forClass(type);
+        }
+        final Class<?> implementation = getImplementation(type);
+        if(implementation == ArrayList.class) {
+            return ArrayList::new;
+        }else if(implementation == LinkedHashSet.class) {
+            return LinkedHashSet::new;
+        }else if(implementation == LinkedHashMap.class) {
+            return LinkedHashMap::new;
+        }else if(implementation != null) {
+            return forClass(implementation);
+        }
+        return () -> {
+            throw new UnsupportedOperationException("No implementation for: " + type);
+        };
+    }
+    
+    private static IntFunction<Object> newSizedCollectionInstantiator(Class<?> type) {
+        final Class<?> implementation;
+        if(!type.isInterface() && !Modifier.isAbstract(type.getModifiers()) && 
+                getPublicConstructor(type) != null) {
+            implementation = type;
+        }else{
+            implementation = getImplementation(type);
+        }
+        if(implementation == ArrayList.class) {
+            return ArrayList::new;
+        }else if(implementation == ArrayDeque.class) {
+            return ArrayDeque::new;
+        }else if(implementation == HashSet.class) {
+            return (size) -> new HashSet<>(capacity(size));
+        }else if(implementation == LinkedHashSet.class) {
+            return (size) -> new LinkedHashSet<>(capacity(size));
+        }else if(implementation == HashMap.class) {
+            return (size) -> new HashMap<>(capacity(size));
+        }else if(implementation == LinkedHashMap.class) {
+            return (size) -> new LinkedHashMap<>(capacity(size));
+        }else if(implementation == ConcurrentHashMap.class) {
+            // Sized by the number of elements, not the table capacity
+            return ConcurrentHashMap::new;
+        }
+        final Supplier<Object> supplier = forCollectionType(type);
+        return (size) -> supplier.get();
+    }
+    
+    /**
+     * @param expectedSize The number of elements expected
+     * @return The initial capacity at which a hash table with the default 
+     * load factor holds the expected number of elements without resizing
+     */
+    private static int capacity(int expectedSize) {
+        if(expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size < 0: " + expectedSize);
+        }
+        return expectedSize < 3 ? expectedSize + 1 : 
+                (int)Math.min(Integer.MAX_VALUE, (long)(expectedSize / 0.75f) + 1);
+    }
+    
+    private static Supplier<Object> newConstructorInstantiator(Class<?> type) {
+        final Constructor<?> constructor = getPublicConstructor(type);
+        final MethodHandle handle;
+        try{
+            if(constructor == null || Modifier.isAbstract(type.getModifiers())) {
+                throw new NoSuchMethodException(type.getName() + ".<init>()");
+            }
+            handle = MethodHandles.lookup().unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE);
+        }catch(NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            return () -> {
+                throw new RuntimeException(e);
+            };
+        }
+        return () -> {
+            try{
+                return (Object)handle.invokeExact();
+            }catch(RuntimeException | Error e) {
+                throw e;
+            }catch(Throwable t) {
+                throw new RuntimeException(t);
+            }
+        };
+    }
+    
+    private static Constructor<?> getPublicConstructor(Class<?> type) {
+        try{
+            return type.getConstructor();
+        }catch(NoSuchMethodException | SecurityException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Objects;
+
+/**
+ * A bean property resolved from the getter and/or setter methods of a class,
+ * and/or from a field of the same name. Instances are created by 
+ * {@link ClassProperties} and are immutable.
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2018 9:12:40 AM
+ */
+public final class Property {
+
+    private final String name;
+
+    private final int index;
+
+    private final Method getter;
+
+    private final Method setter;
+    
+    private final Field field;
+
+    Property(String name, int index, Method getter, Method setter, Field field) {
+        this.name = Objects.requireNonNull(name);
+        this.index = index;
+        this.getter = getter;
+        this.setter = setter;
+        this.field = field;
+    }
+
+    /**
+     * @return The name of this property, with the first character in lower case
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The position of this property within the properties of its class
+     * @see ClassProperties#getProperty(int)
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return The getter method of this property or null if none exists
+     */
+    public Method getGetter() {
+        return getter;
+    }
+
+    /**
+     * @return The setter method of this property or null if none exists
+     */
+    public Method getSetter() {
+        return setter;
+    }
+
+    public Method getMethod(boolean setter) {
+        return setter ? this.setter : this.getter;
+    }
+
+    /**
+     * @return The field with the same name as this property, or null if 
+     * none exists
+     */
+    public Field getField() {
+        return field;
+    }
+    
+    /**
+     * @return true if this property has neither getter nor setter, and is 
+     * hence accessed via its field
+     */
+    public boolean isFieldOnly() {
+        return getter == null && setter == null;
+    }
+    
+    /**
+     * @return true if this property has a getter or is {@link #isFieldOnly() field only}
+     */
+    public boolean isReadable() {
+        return getter != null || field != null && this.isFieldOnly();
+    }
+    
+    /**
+     * @return true if this property has a setter or is {@link #isFieldOnly() field only} 
+     * and its field is not final
+     */
+    public boolean isWritable() {
+        return setter != null || 
+                (field != null && this.isFieldOnly() && !Modifier.isFinal(field.getModifiers()));
+    }
+
+    @Override
+    public String toString() {
+        return "Property{" + "name=" + name + ", index=" + index +
+                ", getter=" + (getter == null ? null : getter.getName()) +
+                ", setter=" + (setter == null ? null : setter.getName()) + 
+                ", field=" + (field == null ? null : field.getName()) + '}';
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bc.reflection;
+
+import com.bc.reflection.accessor.AccessorFactory;
+import com.bc.reflection.accessor.BeanAccessor;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Extracts the value of a single property from each bean in a list.
+ * <p>
+ * The property is resolved once per class of bean rather than once per bean.
+ * The primitive variants read primitive getters without boxing. When a 
+ * {@link java.util.concurrent.ForkJoinPool} is specified, lists whose size is 
+ * at least the parallel threshold are split across the pool.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2018 4:05:33 PM
+ */
+public class PropertyExtractor {
+    
+    @FunctionalInterface
+    private interface RangeExtractor {
+        void extract(Object [] beans, int from, int to, Resolver resolver);
+    }
+    
+    /**
+     * Resolves the accessor and property index for each class of bean 
+     * encountered. Not thread safe, each range of beans has its own.
+     */
+    /**
+     * Thrown when a bean has no readable property of the specified name, to 
+     * tell it apart from an {@link IllegalArgumentException} thrown by a getter
+     */
+    private static final class UnknownPropertyException extends IllegalArgumentException {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private UnknownPropertyException(String message) {
+            super(message);
+        }
+    }
+    
+    private final class Resolver {
+        
+        private final String name;
+        
+        private Class<?> type;
+        
+        private BeanAccessor accessor;
+        
+        private int index;
+        
+        private Resolver(String name) {
+            this.name = name;
+        }
+
+        private BeanAccessor resolve(Object bean) {
+            final Class<?> beanType = bean.getClass();
+            if(beanType != type) {
+                final Property property = ClassProperties.of(beanType).getProperty(name);
+                if(property == null || !property.isReadable()) {
+                    throw new UnknownPropertyException(
+                            "Could not find matching method for: "+name+" in class: "+beanType);
+                }
+                this.accessor = accessorFactory.getAccessor(beanType);
+                this.index = property.getIndex();
+                this.type = beanType;
+            }
+            return accessor;
+        }
+    }
+    
+    private final class ExtractTask extends RecursiveAction {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final Object [] beans;
+        private final int from;
+        private final int to;
+        private final String name;
+        private final RangeExtractor extractor;
+
+        private ExtractTask(Object[] beans, int from, int to, String name, RangeExtractor extractor) {
+            this.beans = beans;
+            this.from = from;
+            this.to = to;
+            this.name = name;
+            this.extractor = extractor;
+        }
+
+        @Override
+        protected void compute() {
+            if(to - from <= leafSize) {
+                extract(beans, from, to, name, extractor);
+            }else{
+                final int mid = (from + to) >>> 1;
+                invokeAll(new ExtractTask(beans, from, mid, name, extractor), 
+                        new ExtractTask(beans, mid, to, name, extractor));
+            }
+        }
+    }
+    
+    private final AccessorFactory accessorFactory;
+    
+    private final ForkJoinPool pool;
+    
+    private final int parallelThreshold;
+    
+    private final int leafSize;
+
+    public PropertyExtractor() {
+        this(AccessorFactory.getDefault(), null, Integer.MAX_VALUE);
+    }
+    
+    public PropertyExtractor(ForkJoinPool pool, int parallelThreshold) {
+        this(AccessorFactory.getDefault(), pool, parallelThreshold);
+    }
+
+    /**
+     * @param accessorFactory The AccessorFactory which provides the accessors for each class of bean
+     * @param pool The pool to split large lists across, may be null in which 
+     * case extraction is always sequential
+     * @param parallelThreshold Lists of at least this size are split across the pool
+     */
+    public PropertyExtractor(AccessorFactory accessorFactory, ForkJoinPool pool, int parallelThreshold) {
+        if(parallelThreshold < 1) {
+            throw new IllegalArgumentException("Parallel threshold < 1");
+        }
+        this.accessorFactory = Objects.requireNonNull(accessorFactory);
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+        this.leafSize = pool == null ? Integer.MAX_VALUE : 
+                Math.max(1024, parallelThreshold / (pool.getParallelism() * 4));
+    }
+    
+    /**
+     * @param beans The beans to extract the property value from
+     * @param name The name of the property whose values are to be extracted
+     * @return An array containing the value of the named property for each bean in the list
+     */
+    public Object [] extract(List<?> beans, String name) {
+        final Object [] array = beans.toArray();
+        final Object [] output = new Object[array.length];
+        this.run(array, name, (arr, from, to, resolver) -> {
+            for(int i=from; i<to; i++) {
+                output[i] = resolver.resolve(arr[i]).get(arr[i], resolver.index);
+            }
+        });
+        return output;
+    }
+
+    /**
+     * Getters returning int, or a primitive which may be widened to int, are
+     * read without boxing. Other numeric values are converted via {@link java.lang.Number#intValue()}
+     * @param beans The beans to extract the property value from
+     * @param name The name of the property whose values are to be extracted
+     * @return An array containing the value of the named property for each bean in the list
+     */
+    public int [] extractInt(List<?> beans, String name) {
+        final Object [] array = beans.toArray();
+        final int [] output = new int[array.length];
+        this.run(array, name, (arr, from, to, resolver) -> {
+            for(int i=from; i<to; i++) {
+                output[i] = resolver.resolve(arr[i]).getInt(arr[i], resolver.index);
+            }
+        });
+        return output;
+    }
+
+    /**
+     * @param beans The beans to extract the property value from
+     * @param name The name of the property whose values are to be extracted
+     * @return An array containing the value of the named property for each bean in the list
+     * @see #extractInt(java.util.List, java.lang.String) 
+     */
+    public long [] extractLong(List<?> beans, String name) {
+        final Object [] array = beans.toArray();
+        final long [] output = new long[array.length];
+        this.run(array, name, (arr, from, to, resolver) -> {
+            for(int i=from; i<to; i++) {
+                output[i] = resolver.resolve(arr[i]).getLong(arr[i], resolver.index);
+            }
+        });
+        return output;
+    }
+
+    /**
+     * @param beans The beans to extract the property value from
+     * @param name The name of the property whose values are to be extracted
+     * @return An array containing the value of the named property for each bean in the list
+     * @see #extractInt(java.util.List, java.lang.String) 
+     */
+    public double [] extractDouble(List<?> beans, String name) {
+        final Object [] array = beans.toArray();
+        final double [] output = new double[array.length];
+        this.run(array, name, (arr, from, to, resolver) -> {
+            for(int i=from; i<to; i++) {
+                output[i] = resolver.resolve(arr[i]).getDouble(arr[i], resolver.index);
+            }
+        });
+        return output;
+    }
+    
+    private void run(Object [] beans, String name, RangeExtractor extractor) {
+        if(pool == null || beans.length < parallelThreshold) {
+            this.extract(beans, 0, beans.length, name, extractor);
+        }else{
+            pool.invoke(new ExtractTask(beans, 0, beans.length, name, extractor));
+        }
+    }
+    
+    private void extract(Object [] beans, int from, int to, String name, RangeExtractor extractor) {
+        final Resolver resolver = new Resolver(name);
+        try{
+            extractor.extract(beans, from, to, resolver);
+        }catch(UnknownPropertyException e) {
+            throw e;
+        }catch(Exception e) {
+            throw new UnsupportedOperationException("Error getting value of property: " + 
+                    name + " from: " + resolver.type, e);
+        }
+    }
+}
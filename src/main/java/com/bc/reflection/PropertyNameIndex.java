@@ -0,0 +1,131 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection;
+
+/**
+ * An open addressing hash index of property keys, i.e the part of getter/setter
+ * names starting at the first upper case character.
+ * <p>
+ * Names are normalized while being hashed and compared, rather than copied,
+ * so that a lookup allocates nothing. A name matches a key if, after 
+ * normalization, the two are equal. Normalization:
+ * </p>
+ * <ul>
+ * <li>Upper cases the first character, as in {@link ReflectionUtil#capitalize(java.lang.String)}</li>
+ * <li>Optionally removes underscores, as in {@link ReflectionUtil#removeAll(java.lang.String, char)}</li>
+ * <li>Optionally folds the case of every character, as in {@link java.lang.String#equalsIgnoreCase(java.lang.String)}</li>
+ * </ul>
+ * <p>
+ * Two tables are kept, one for case sensitive and one for case insensitive
+ * lookups. Where several keys are equal ignoring case, the first wins.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 21, 2018 9:14:26 AM
+ */
+final class PropertyNameIndex {
+    
+    private final String [] keys;
+    
+    /**
+     * Slots hold the index of a key plus one, or zero if empty
+     */
+    private final int [] exact;
+    
+    private final int [] ignoreCase;
+    
+    private final int mask;
+
+    /**
+     * @param keys The keys to index. The index of each key is its position in this array
+     */
+    PropertyNameIndex(String [] keys) {
+        this.keys = keys;
+        // At most half full
+        final int capacity = Integer.highestOneBit(Math.max(1, keys.length) * 2) << 1;
+        this.exact = new int[capacity];
+        this.ignoreCase = new int[capacity];
+        this.mask = capacity - 1;
+        for(int i=0; i<keys.length; i++) {
+            this.put(exact, i, false);
+            this.put(ignoreCase, i, true);
+        }
+    }
+    
+    private void put(int [] table, int index, boolean foldCase) {
+        final String key = keys[index];
+        int slot = hash(key, foldCase, false) & mask;
+        for(int entry; (entry = table[slot]) != 0; slot = (slot + 1) & mask) {
+            if(matches(keys[entry - 1], key, foldCase, false)) {
+                return;
+            }
+        }
+        table[slot] = index + 1;
+    }
+
+    /**
+     * @param name The name to look up
+     * @param foldCase If true, case differences are ignored
+     * @param stripUnderscores If true, underscores in the name are ignored
+     * @return The index of the key matching the name, or -1 if none matches
+     */
+    int indexOf(CharSequence name, boolean foldCase, boolean stripUnderscores) {
+        final int [] table = foldCase ? ignoreCase : exact;
+        int slot = hash(name, foldCase, stripUnderscores) & mask;
+        for(int entry; (entry = table[slot]) != 0; slot = (slot + 1) & mask) {
+            if(matches(keys[entry - 1], name, foldCase, stripUnderscores)) {
+                return entry - 1;
+            }
+        }
+        return -1;
+    }
+    
+    private static int hash(CharSequence name, boolean foldCase, boolean stripUnderscores) {
+        int h = 0;
+        boolean first = true;
+        for(int i=0; i<name.length(); i++) {
+            final char ch = name.charAt(i);
+            if(stripUnderscores && ch == '_') {
+                continue;
+            }
+            h = 31 * h + normalize(ch, first, foldCase);
+            first = false;
+        }
+        return h ^ (h >>> 16);
+    }
+    
+    private static boolean matches(String key, CharSequence name, boolean foldCase, boolean stripUnderscores) {
+        final int keyLength = key.length();
+        int k = 0;
+        for(int i=0; i<name.length(); i++) {
+            final char ch = name.charAt(i);
+            if(stripUnderscores && ch == '_') {
+                continue;
+            }
+            if(k == keyLength || normalize(ch, k == 0, foldCase) != normalize(key.charAt(k), k == 0, foldCase)) {
+                return false;
+            }
+            ++k;
+        }
+        return k == keyLength;
+    }
+    
+    private static char normalize(char ch, boolean first, boolean foldCase) {
+        if(foldCase) {
+            return Character.toLowerCase(Character.toUpperCase(ch));
+        }
+        return first ? Character.toUpperCase(ch) : ch;
+    }
+}
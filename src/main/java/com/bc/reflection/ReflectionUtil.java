@@ -16,20 +16,18 @@
 
 package com.bc.reflection;
 
+import com.bc.reflection.accessor.AccessorFactory;
 import com.bc.reflection.function.MethodIsGetter;
 import com.bc.reflection.function.MethodIsSetter;
+import com.bc.reflection.naming.ColumnResolver;
+import com.bc.reflection.naming.NamingStrategy;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.Objects;
 import java.util.function.Predicate;
 
 /**
@@ -37,66 +35,160 @@ import java.util.function.Predicate;
  */
 public class ReflectionUtil {
     
-    public ReflectionUtil() { }
+    private final AccessorFactory accessorFactory;
     
+    private final CollectionFactory collectionFactory;
+    
+    public ReflectionUtil() { 
+        this(AccessorFactory.getDefault());
+    }
+    
+    /**
+     * Compiled accessors are cached by the AccessorFactory. The same 
+     * AccessorFactory should therefore be shared by instances of this class.
+     * @param accessorFactory The AccessorFactory used by {@link #getValue(java.lang.Object, java.lang.String)}
+     * and {@link #setValue(java.lang.Object, java.lang.String, java.lang.Object)}
+     */
+    public ReflectionUtil(AccessorFactory accessorFactory) { 
+        this(accessorFactory, CollectionFactory.getDefault());
+    }
+    
+    /**
+     * @param accessorFactory The AccessorFactory used by {@link #getValue(java.lang.Object, java.lang.String)}
+     * and {@link #setValue(java.lang.Object, java.lang.String, java.lang.Object)}
+     * @param collectionFactory The CollectionFactory used by {@link #newInstanceForCollectionType(java.lang.Class, java.lang.Class, int)}
+     */
+    public ReflectionUtil(AccessorFactory accessorFactory, CollectionFactory collectionFactory) { 
+        this.accessorFactory = Objects.requireNonNull(accessorFactory);
+        this.collectionFactory = Objects.requireNonNull(collectionFactory);
+    }
+    
+    /**
+     * The decision whether to instantiate the type itself or an 
+     * implementation of it is made once per type and cached. 
+     * @param type The type to instantiate, typically a collection interface
+     * @return A new instance of the type if it has a public no-arg constructor,
+     * otherwise of the implementation returned by {@link #getClassForCollectionType(java.lang.Class)}
+     * @throws UnsupportedOperationException If the type has neither a public
+     * no-arg constructor nor an implementation
+     */
     public Object newInstanceForCollectionType(Class type) {
-        try{
-            return this.newInstance(type);
-        }catch(RuntimeException ignored) {
-            return this.newInstance(this.getClassForCollectionType(type));
-        }
+        return Instantiators.forCollectionType(type).get();
+    }
+    
+    /**
+     * @param type The type to instantiate, typically a collection interface
+     * @param expectedSize The number of elements expected
+     * @return A new instance of the type as returned by {@link #newInstanceForCollectionType(java.lang.Class)}
+     * but pre-sized for the expected number of elements, where supported
+     * @see CollectionFactory#newInstance(java.lang.Class, int) 
+     */
+    public Object newInstanceForCollectionType(Class<?> type, int expectedSize) {
+        return collectionFactory.newInstance(type, expectedSize);
+    }
+    
+    /**
+     * @param type The type to instantiate, typically a collection interface
+     * @param elementType The type of the elements, or for maps of the keys
+     * @param expectedSize The number of elements expected
+     * @return A new instance of the type, created by the implementation 
+     * registered for the type with the {@link CollectionFactory} of this 
+     * instance if any, otherwise as by {@link #newInstanceForCollectionType(java.lang.Class, int)}
+     * @see CollectionFactory#newInstance(java.lang.Class, java.lang.Class, int) 
+     */
+    public Object newInstanceForCollectionType(Class<?> type, Class<?> elementType, int expectedSize) {
+        return collectionFactory.newInstance(type, elementType, expectedSize);
     }
     
+    /**
+     * @param type The collection type
+     * @return The first of <tt>ArrayList, LinkedHashSet, TreeSet, ArrayDeque, 
+     * LinkedHashMap, TreeMap, ConcurrentHashMap, ConcurrentSkipListMap</tt> 
+     * which is assignable to the collection type
+     * @throws UnsupportedOperationException If none of the above is assignable
+     * to the type
+     */
     public Class getClassForCollectionType(Class type) {
-        if(Set.class.isAssignableFrom(type)) {
-            return LinkedHashSet.class;
-        }else if(Collection.class.isAssignableFrom(type)) {
-            return ArrayList.class;
-        }else if(Map.class.isAssignableFrom(type)) {
-            return LinkedHashMap.class;
-        }else{
+        final Class<?> implementation = Instantiators.getImplementation(type);
+        if(implementation == null) {
             throw new UnsupportedOperationException();
         }
+        return implementation;
     }
     
+    /**
+     * The public no-arg constructor of each class is resolved once and cached.
+     * @param <T> The type of the instance to create
+     * @param entityType The class to instantiate
+     * @return A new instance of the class
+     * @throws RuntimeException If the class has no public no-arg constructor 
+     * or the constructor throws a checked exception
+     */
     public <T> T newInstance(Class<T> entityType) {
-        try{
-            return entityType.getConstructor().newInstance();
-        }catch(NoSuchMethodException | SecurityException | InstantiationException | 
-                IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-            throw new RuntimeException(e);
-        }
+        return entityType.cast(Instantiators.forClass(entityType).get());
     }
     
+    /**
+     * The type arguments are parsed once per method and cached.
+     * @param method The method whose return type arguments are to be returned
+     * @return The actual type arguments of the method's return type
+     * @throws ClassCastException If the return type is not parameterized
+     * @see GenericTypes#getReturnTypeArguments(java.lang.reflect.Method) 
+     */
     public Type [] getGenericReturnTypeArguments(Method method) {
-        final Type genericReturnType = method.getGenericReturnType();
-        return ((ParameterizedType)genericReturnType).getActualTypeArguments();
+        final Type [] output = GenericTypes.getReturnTypeArguments(method);
+        if(output == null) {
+            throw new ClassCastException(method.getGenericReturnType() + 
+                    " is not a " + ParameterizedType.class.getName());
+        }
+        return output;
     }
 
+    /**
+     * The type arguments are parsed once per method and cached.
+     * @see GenericTypes#getParameterTypeArguments(java.lang.reflect.Method) 
+     */
     public List<Type []> getGenericParameterTypeArguments(Method method) {
-        final Type [] genericParameterTypes = method.getGenericParameterTypes();
-        final List<Type[]> output = new ArrayList(genericParameterTypes.length);
-        for(Type t : genericParameterTypes) {
-            if(t instanceof ParameterizedType) {
-                final Type [] actual = ((ParameterizedType)t).getActualTypeArguments();
-                output.add(actual);
-            }
-        }
-        return output;
+        return GenericTypes.getParameterTypeArguments(method);
     }
     
+    /**
+     * The type arguments are parsed once per field and cached.
+     * @see GenericTypes#getTypeArguments(java.lang.reflect.Field) 
+     */
     public Type [] getGenericTypeArguments(Field field) {
-        final Type genericReturnType = field.getGenericType();
-        if(genericReturnType instanceof ParameterizedType) {
-            return ((ParameterizedType)genericReturnType).getActualTypeArguments();
-        }else{
-            return new Type[0];
-        }
+        return GenericTypes.getTypeArguments(field);
     }
 
+    /**
+     * Getter methods are resolved once per class and cached. Properties which
+     * have neither getter nor setter are read via their fields. The getter is 
+     * invoked via the {@link com.bc.reflection.accessor.BeanAccessor} which 
+     * the {@link com.bc.reflection.accessor.AccessorFactory} of this instance 
+     * compiled for the class.
+     * @param object The object whose property value is to be returned
+     * @param name The name of the property whose value is to be returned
+     * @return The value of the named property of the object
+     * @see ClassProperties
+     */
     public Object getValue(Object object, String name) {
         
-        return this.getValue(object.getClass(), object, object.getClass().getDeclaredMethods(), name);
+        final Class<?> aClass = object.getClass();
+        
+        final Property property = ClassProperties.of(aClass).getProperty(name);
+        
+        if(property == null || !property.isReadable()) {
+            throw this.newMethodNotFoundException(aClass, name);
+        }
+        
+        try{
+            
+            return this.accessorFactory.getAccessor(aClass).get(object, property.getIndex());
+            
+        }catch(Exception e) {
+            
+            throw this.newGetValueException(object, property.getGetter(), name, e);
+        }
     }
 
     public Object getValue(Class aClass, 
@@ -105,7 +197,7 @@ public class ReflectionUtil {
         final Method method = getMethod(false, methods, name);
 
         if(method == null) {
-            throw new IllegalArgumentException("Could not find matching method for: "+name+" in class: "+aClass);
+            throw this.newMethodNotFoundException(aClass, name);
         }
         
         try{
@@ -114,18 +206,155 @@ public class ReflectionUtil {
             
         }catch(Exception e) {
             
-            StringBuilder builder = new StringBuilder("Error getting entity value.");
-            builder.append(" Entity: ").append(object);
-            builder.append(", Method: ").append(method==null?null:method.getName());
-            builder.append(", Column: ").append(name);
-
-            throw new UnsupportedOperationException(builder.toString(), e);
+            throw this.newGetValueException(object, method, name, e);
         }
     }
+    
+    private RuntimeException newGetValueException(
+            Object object, Method method, String name, Exception e) {
+        
+        StringBuilder builder = new StringBuilder("Error getting entity value.");
+        builder.append(" Entity: ").append(object);
+        builder.append(", Method: ").append(method==null?null:method.getName());
+        builder.append(", Column: ").append(name);
 
+        return new UnsupportedOperationException(builder.toString(), e);
+    }
+
+    /**
+     * Setter methods are resolved once per class and cached. Properties which
+     * have neither getter nor setter are set via their non final fields. The setter is 
+     * invoked via the {@link com.bc.reflection.accessor.BeanAccessor} which 
+     * the {@link com.bc.reflection.accessor.AccessorFactory} of this instance 
+     * compiled for the class.
+     * @param object The object whose property value is to be set
+     * @param name The name of the property whose value is to be set
+     * @param value The value to set
+     * @see ClassProperties
+     */
     public void setValue(Object object, String name, Object value) {
         
-        this.setValue(object.getClass(), object, object.getClass().getDeclaredMethods(), name, value);
+        final Class<?> aClass = object.getClass();
+        
+        final Property property = ClassProperties.of(aClass).getProperty(name);
+        
+        if(property == null || !property.isWritable()) {
+            throw this.newMethodNotFoundException(aClass, name);
+        }
+        
+        try{
+            
+            this.accessorFactory.getAccessor(aClass).set(object, property.getIndex(), value);
+            
+        }catch(Exception e) {
+            
+            throw this.newSetValueException(object, property.getSetter(), name, value, e);
+        }
+    }
+    
+    /**
+     * Reads the property without boxing, via the primitive getter of the 
+     * {@link com.bc.reflection.accessor.BeanAccessor} compiled for the class. 
+     * Properties of types which can not be widened to int are unboxed.
+     * @param object The object whose property value is to be returned
+     * @param name The name of the property whose value is to be returned
+     * @return The value of the named property of the object
+     * @see #getValue(java.lang.Object, java.lang.String) 
+     */
+    public int getInt(Object object, String name) {
+        final Property property = this.getProperty(object, name, false);
+        try{
+            return this.accessorFactory.getAccessor(object.getClass()).getInt(object, property.getIndex());
+        }catch(Exception e) {
+            throw this.newGetValueException(object, property.getGetter(), name, e);
+        }
+    }
+
+    /**
+     * @param object The object whose property value is to be returned
+     * @param name The name of the property whose value is to be returned
+     * @return The value of the named property of the object
+     * @see #getInt(java.lang.Object, java.lang.String) 
+     */
+    public long getLong(Object object, String name) {
+        final Property property = this.getProperty(object, name, false);
+        try{
+            return this.accessorFactory.getAccessor(object.getClass()).getLong(object, property.getIndex());
+        }catch(Exception e) {
+            throw this.newGetValueException(object, property.getGetter(), name, e);
+        }
+    }
+
+    /**
+     * @param object The object whose property value is to be returned
+     * @param name The name of the property whose value is to be returned
+     * @return The value of the named property of the object
+     * @see #getInt(java.lang.Object, java.lang.String) 
+     */
+    public double getDouble(Object object, String name) {
+        final Property property = this.getProperty(object, name, false);
+        try{
+            return this.accessorFactory.getAccessor(object.getClass()).getDouble(object, property.getIndex());
+        }catch(Exception e) {
+            throw this.newGetValueException(object, property.getGetter(), name, e);
+        }
+    }
+
+    /**
+     * Writes the property without boxing, via the primitive setter of the 
+     * {@link com.bc.reflection.accessor.BeanAccessor} compiled for the class. 
+     * Properties of types to which int can not be widened are set with the 
+     * boxed value.
+     * @param object The object whose property value is to be set
+     * @param name The name of the property whose value is to be set
+     * @param value The value to set
+     * @see #setValue(java.lang.Object, java.lang.String, java.lang.Object) 
+     */
+    public void setInt(Object object, String name, int value) {
+        final Property property = this.getProperty(object, name, true);
+        try{
+            this.accessorFactory.getAccessor(object.getClass()).setInt(object, property.getIndex(), value);
+        }catch(Exception e) {
+            throw this.newSetValueException(object, property.getSetter(), name, value, e);
+        }
+    }
+
+    /**
+     * @param object The object whose property value is to be set
+     * @param name The name of the property whose value is to be set
+     * @param value The value to set
+     * @see #setInt(java.lang.Object, java.lang.String, int) 
+     */
+    public void setLong(Object object, String name, long value) {
+        final Property property = this.getProperty(object, name, true);
+        try{
+            this.accessorFactory.getAccessor(object.getClass()).setLong(object, property.getIndex(), value);
+        }catch(Exception e) {
+            throw this.newSetValueException(object, property.getSetter(), name, value, e);
+        }
+    }
+
+    /**
+     * @param object The object whose property value is to be set
+     * @param name The name of the property whose value is to be set
+     * @param value The value to set
+     * @see #setInt(java.lang.Object, java.lang.String, int) 
+     */
+    public void setDouble(Object object, String name, double value) {
+        final Property property = this.getProperty(object, name, true);
+        try{
+            this.accessorFactory.getAccessor(object.getClass()).setDouble(object, property.getIndex(), value);
+        }catch(Exception e) {
+            throw this.newSetValueException(object, property.getSetter(), name, value, e);
+        }
+    }
+    
+    private Property getProperty(Object object, String name, boolean setter) {
+        final Property property = ClassProperties.of(object.getClass()).getProperty(name);
+        if(property == null || !(setter ? property.isWritable() : property.isReadable())) {
+            throw this.newMethodNotFoundException(object.getClass(), name);
+        }
+        return property;
     }
     
     public void setValue(Class aClass, 
@@ -134,7 +363,7 @@ public class ReflectionUtil {
         
         final Method method = getMethod(true, methods, name);
         if(method == null) {
-            throw new IllegalArgumentException("Could not find matching method for: "+name+" in class: "+aClass);
+            throw this.newMethodNotFoundException(aClass, name);
         }
         
         try{
@@ -143,18 +372,73 @@ public class ReflectionUtil {
             
         }catch(Exception e) {
             
-            StringBuilder builder = new StringBuilder("Error setting entity value.");
-            builder.append(" Object: ").append(object);
-            builder.append(", Method: ").append(method==null?null:method.getName());
-            builder.append(", Name: ").append(name);
-            builder.append(", Value: ").append(value);
-            builder.append(", Value type: ").append(value==null?null:value.getClass());
-            builder.append(", Expected type: ").append(method==null?null:method.getParameterTypes()[0]);
-
-            throw new UnsupportedOperationException(builder.toString(), e);
+            throw this.newSetValueException(object, method, name, value, e);
         }
     }
     
+    private RuntimeException newSetValueException(
+            Object object, Method method, String name, Object value, Exception e) {
+        
+        StringBuilder builder = new StringBuilder("Error setting entity value.");
+        builder.append(" Object: ").append(object);
+        builder.append(", Method: ").append(method==null?null:method.getName());
+        builder.append(", Name: ").append(name);
+        builder.append(", Value: ").append(value);
+        builder.append(", Value type: ").append(value==null?null:value.getClass());
+        builder.append(", Expected type: ").append(method==null?null:method.getParameterTypes()[0]);
+
+        return new UnsupportedOperationException(builder.toString(), e);
+    }
+    
+    private RuntimeException newMethodNotFoundException(Class<?> aClass, String name) {
+        return new IllegalArgumentException("Could not find matching method for: "+name+" in class: "+aClass);
+    }
+    
+    /**
+     * Resolves the method from the properties of the class, which are 
+     * indexed once per class, hence without any per call string copies.
+     * @param setter boolean, if true the setter is returned otherwise the getter
+     * @param aClass The class declaring the method
+     * @param columnName The column name, whose underscores are ignored
+     * @return A method whose name matches the input columnName or null if none was found
+     * @see #getMethodAlphaNumeric(boolean, java.lang.reflect.Method[], java.lang.String) 
+     * @see ClassProperties#getProperty(java.lang.CharSequence, boolean, boolean) 
+     */
+    public Method getMethodAlphaNumeric(boolean setter, Class<?> aClass, String columnName) {
+        final Property property = ClassProperties.of(aClass).getProperty(columnName, false, true);
+        return property == null ? null : property.getMethod(setter);
+    }
+    
+    /**
+     * Resolves the method from the properties of the class, which are 
+     * indexed once per class, hence without any per call string copies.
+     * @param setter boolean, if true the setter is returned otherwise the getter
+     * @param aClass The class declaring the method
+     * @param columnName The column name for which a method with a matching
+     * name is to be returned.
+     * @return A method whose name matches the input columnName or null if none was found
+     * @see #getMethod(boolean, java.lang.reflect.Method[], java.lang.String) 
+     */
+    public Method getMethod(boolean setter, Class<?> aClass, String columnName) {
+        return ClassProperties.of(aClass).getMethod(setter, columnName);
+    }
+    
+    /**
+     * The column is resolved once per class and naming strategy, and the 
+     * result memoized.
+     * @param setter boolean, if true the setter is returned otherwise the getter
+     * @param aClass The class declaring the method
+     * @param columnName The column name for which a method with a matching
+     * name is to be returned.
+     * @param strategy The strategy which maps the column name to a property name
+     * @return A method whose name matches the input columnName or null if none was found
+     * @see com.bc.reflection.naming.ColumnResolver
+     */
+    public Method getMethod(boolean setter, Class<?> aClass, String columnName, NamingStrategy strategy) {
+        final Property property = ColumnResolver.of(aClass, strategy).resolve(columnName);
+        return property == null ? null : property.getMethod(setter);
+    }
+    
     public Method getMethodAlphaNumeric(boolean setter, Method [] methods, String columnName) {
         return this.getMethod(setter, methods, this.removeAll(columnName, '_').toString());
     }
@@ -170,7 +454,7 @@ public class ReflectionUtil {
      */
     public Method getMethod(boolean setter, Method [] methods, String columnName) {
         
-        final Predicate<Method> methodTest = setter ? new MethodIsSetter() : new MethodIsGetter();
+        final Predicate<Method> methodTest = setter ? MethodIsSetter.INSTANCE : MethodIsGetter.INSTANCE;
         
         return this.getMethod(methodTest, methods, columnName);
     }
@@ -202,9 +486,10 @@ public class ReflectionUtil {
             
             final String methodName = method.getName();
             
-            final String rhs = methodName.substring(this.firstIndexOfUpperCaseChar(methodName));
+            final int offset = this.firstIndexOfUpperCaseChar(methodName);
 
-            if(lhs.equals(rhs)) {
+            if(offset != -1 && methodName.length() - offset == lhs.length() && 
+                    methodName.regionMatches(offset, lhs, 0, lhs.length())) {
                 output = method;
                 break;
             }
@@ -230,7 +515,7 @@ public class ReflectionUtil {
     
     public void appendName(boolean setter, Method method, StringBuilder buff) {
 
-        final Predicate<Method> methodTest = setter ? new MethodIsSetter() : new MethodIsGetter();
+        final Predicate<Method> methodTest = setter ? MethodIsSetter.INSTANCE : MethodIsGetter.INSTANCE;
         
         final String methodName = method.getName();
         
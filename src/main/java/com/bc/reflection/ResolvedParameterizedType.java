@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A parameterized type whose type arguments were substituted by a 
+ * {@link TypeResolver}. Equal to any {@link java.lang.reflect.ParameterizedType}
+ * with the same raw type, owner type and type arguments.
+ * @author Chinomso Bassey Ikwuagwu on Oct 22, 2018 11:31:06 AM
+ */
+final class ResolvedParameterizedType implements ParameterizedType {
+    
+    private final Class<?> rawType;
+    
+    private final Type ownerType;
+    
+    private final Type [] actualTypeArguments;
+
+    ResolvedParameterizedType(Class<?> rawType, Type ownerType, Type [] actualTypeArguments) {
+        this.rawType = Objects.requireNonNull(rawType);
+        this.ownerType = ownerType;
+        this.actualTypeArguments = actualTypeArguments;
+    }
+
+    @Override
+    public Type [] getActualTypeArguments() {
+        return actualTypeArguments.clone();
+    }
+
+    @Override
+    public Type getRawType() {
+        return rawType;
+    }
+
+    @Override
+    public Type getOwnerType() {
+        return ownerType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) {
+            return true;
+        }
+        if(!(o instanceof ParameterizedType)) {
+            return false;
+        }
+        final ParameterizedType other = (ParameterizedType)o;
+        return rawType.equals(other.getRawType()) && 
+                Objects.equals(ownerType, other.getOwnerType()) &&
+                Arrays.equals(actualTypeArguments, other.getActualTypeArguments());
+    }
+
+    @Override
+    public int hashCode() {
+        // As java.lang.reflect.ParameterizedType implementations of the JDK
+        return Arrays.hashCode(actualTypeArguments) ^ Objects.hashCode(ownerType) ^ rawType.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder(rawType.getName()).append('<');
+        for(int i=0; i<actualTypeArguments.length; i++) {
+            if(i > 0) {
+                builder.append(", ");
+            }
+            builder.append(actualTypeArguments[i].getTypeName());
+        }
+        return builder.append('>').toString();
+    }
+}
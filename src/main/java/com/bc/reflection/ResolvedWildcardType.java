@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection;
+
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+
+/**
+ * A wildcard type whose bounds were substituted by a {@link TypeResolver}. 
+ * Equal to any {@link java.lang.reflect.WildcardType} with the same upper 
+ * and lower bounds.
+ * @author Chinomso Bassey Ikwuagwu on Oct 22, 2018 2:47:19 PM
+ */
+final class ResolvedWildcardType implements WildcardType {
+    
+    private final Type [] upperBounds;
+    
+    private final Type [] lowerBounds;
+
+    ResolvedWildcardType(Type [] upperBounds, Type [] lowerBounds) {
+        this.upperBounds = upperBounds;
+        this.lowerBounds = lowerBounds;
+    }
+
+    @Override
+    public Type [] getUpperBounds() {
+        return upperBounds.clone();
+    }
+
+    @Override
+    public Type [] getLowerBounds() {
+        return lowerBounds.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) {
+            return true;
+        }
+        if(!(o instanceof WildcardType)) {
+            return false;
+        }
+        final WildcardType other = (WildcardType)o;
+        return Arrays.equals(upperBounds, other.getUpperBounds()) && 
+                Arrays.equals(lowerBounds, other.getLowerBounds());
+    }
+
+    @Override
+    public int hashCode() {
+        // As java.lang.reflect.WildcardType implementations of the JDK
+        return Arrays.hashCode(upperBounds) ^ Arrays.hashCode(lowerBounds);
+    }
+
+    @Override
+    public String toString() {
+        final Type [] bounds;
+        final StringBuilder builder = new StringBuilder("?");
+        if(lowerBounds.length > 0) {
+            bounds = lowerBounds;
+            builder.append(" super ");
+        }else if(upperBounds.length > 0 && !Object.class.equals(upperBounds[0])) {
+            bounds = upperBounds;
+            builder.append(" extends ");
+        }else{
+            return builder.toString();
+        }
+        for(int i=0; i<bounds.length; i++) {
+            if(i > 0) {
+                builder.append(" & ");
+            }
+            builder.append(bounds[i].getTypeName());
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection;
+
+import com.bc.reflection.accessor.AccessorFactory;
+import com.bc.reflection.accessor.BeanAccessor;
+import com.bc.reflection.naming.ColumnResolver;
+import com.bc.reflection.naming.NamingStrategy;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Maps rows of values, e.g of a query result, to beans.
+ * <p>
+ * The plan for a bean class and an ordered list of columns is compiled 
+ * once: a constructor handle, plus the index of the setter of each column 
+ * within the {@link com.bc.reflection.accessor.BeanAccessor} of the class. 
+ * Mapping a row then involves no name lookups. Columns which do not map to
+ * a writable property are skipped.
+ * </p>
+ * <p>
+ * Instances are immutable, hence thread safe, and should be reused for 
+ * every row of the same shape.
+ * </p>
+ * <pre><code>
+ * final RowMapper&lt;Person&gt; mapper = RowMapper.compile(
+ *         Person.class, columnNames, NamingStrategy.SNAKE_CASE);
+ * for(Object [] row : rows) {
+ *     people.add(mapper.map(row));
+ * }
+ * </code></pre>
+ * @param <T> The type of the beans to map rows to
+ * @author Chinomso Bassey Ikwuagwu on Oct 21, 2018 2:16:44 PM
+ */
+public final class RowMapper<T> {
+    
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+    
+    /**
+     * Columns are matched to properties by name, as by {@link ClassProperties#getProperty(java.lang.String)}
+     * @param <T> The type of the beans to map rows to
+     * @param type The type of the beans to map rows to
+     * @param columnNames The names of the columns, in row order
+     * @return A mapper for rows of the specified columns
+     * @throws IllegalArgumentException If the type has no accessible no-arg constructor
+     */
+    public static <T> RowMapper<T> compile(Class<T> type, List<String> columnNames) {
+        return compile(type, columnNames, NamingStrategy.IDENTITY);
+    }
+    
+    /**
+     * @param <T> The type of the beans to map rows to
+     * @param type The type of the beans to map rows to
+     * @param columnNames The names of the columns, in row order
+     * @param strategy The strategy which maps column names to property names
+     * @return A mapper for rows of the specified columns
+     * @throws IllegalArgumentException If the type has no accessible no-arg constructor
+     */
+    public static <T> RowMapper<T> compile(Class<T> type, List<String> columnNames, NamingStrategy strategy) {
+        return compile(type, columnNames, strategy, AccessorFactory.getDefault());
+    }
+    
+    /**
+     * @param <T> The type of the beans to map rows to
+     * @param type The type of the beans to map rows to
+     * @param columnNames The names of the columns, in row order
+     * @param strategy The strategy which maps column names to property names
+     * @param accessorFactory The factory of the accessor whose setters are invoked
+     * @return A mapper for rows of the specified columns
+     * @throws IllegalArgumentException If the type has no accessible no-arg constructor
+     */
+    public static <T> RowMapper<T> compile(Class<T> type, List<String> columnNames, 
+            NamingStrategy strategy, AccessorFactory accessorFactory) {
+        
+        final MethodHandle constructor;
+        try{
+            final Constructor<T> c = type.getDeclaredConstructor();
+            if(!c.isAccessible()) {
+                c.setAccessible(true);
+            }
+            constructor = MethodHandles.lookup().unreflectConstructor(c).asType(CONSTRUCTOR_TYPE);
+        }catch(NoSuchMethodException | SecurityException | IllegalAccessException e) {
+            throw new IllegalArgumentException("No accessible no-arg constructor in: " + type, e);
+        }
+        
+        final Property [] properties = ColumnResolver.of(type, strategy).resolveAll(columnNames);
+        
+        int count = 0;
+        final int [] columns = new int[properties.length];
+        final int [] setters = new int[properties.length];
+        for(int i=0; i<properties.length; i++) {
+            final Property property = properties[i];
+            if(property != null && property.isWritable()) {
+                columns[count] = i;
+                setters[count] = property.getIndex();
+                ++count;
+            }
+        }
+        
+        return new RowMapper<>(type, columnNames, constructor, 
+                accessorFactory.getAccessor(type), count, columns, setters);
+    }
+    
+    private final Class<T> type;
+    
+    private final List<String> columnNames;
+    
+    /**
+     * Of type <tt>()Object</tt>
+     */
+    private final MethodHandle constructor;
+    
+    private final BeanAccessor accessor;
+    
+    /**
+     * The positions of the mapped columns within each row
+     */
+    private final int [] columns;
+    
+    /**
+     * The property index of the setter of each mapped column
+     */
+    private final int [] setters;
+
+    private RowMapper(Class<T> type, List<String> columnNames, MethodHandle constructor, 
+            BeanAccessor accessor, int count, int [] columns, int [] setters) {
+        this.type = type;
+        this.columnNames = Collections.unmodifiableList(new ArrayList<>(columnNames));
+        this.constructor = constructor;
+        this.accessor = accessor;
+        this.columns = Arrays.copyOf(columns, count);
+        this.setters = Arrays.copyOf(setters, count);
+    }
+    
+    /**
+     * @param row The values of the columns, in the order of the column names 
+     * this mapper was compiled with
+     * @return A new bean populated with the values of the mapped columns
+     * @throws IllegalArgumentException If the row has fewer values than there are columns
+     */
+    public T map(Object [] row) {
+        if(row.length < columnNames.size()) {
+            throw new IllegalArgumentException("Expected " + columnNames.size() + 
+                    " values, found: " + row.length);
+        }
+        final T bean = this.newInstance();
+        int i = 0;
+        try{
+            for(; i<columns.length; i++) {
+                accessor.set(bean, setters[i], row[columns[i]]);
+            }
+        }catch(Exception e) {
+            throw new UnsupportedOperationException("Error setting value of column: " + 
+                    columnNames.get(columns[i]) + " to: " + row[columns[i]] + " on: " + bean, e);
+        }
+        return bean;
+    }
+    
+    /**
+     * @param rows The rows to map
+     * @return A list of new beans, one per row
+     * @see #map(java.lang.Object[]) 
+     */
+    public List<T> mapAll(List<Object[]> rows) {
+        final List<T> output = new ArrayList<>(rows.size());
+        for(Object [] row : rows) {
+            output.add(this.map(row));
+        }
+        return output;
+    }
+    
+    private T newInstance() {
+        try{
+            return type.cast((Object)constructor.invokeExact());
+        }catch(RuntimeException | Error e) {
+            throw e;
+        }catch(Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+    
+    /**
+     * @param column The position of a column
+     * @return true if the column maps to a writable property, otherwise false
+     */
+    public boolean isMapped(int column) {
+        return Arrays.binarySearch(columns, column) >= 0;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    @Override
+    public String toString() {
+        return "RowMapper{" + "type=" + type.getName() + ", columnNames=" + columnNames + 
+                ", mapped=" + columns.length + '}';
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Resolves the type variables of generic superclasses and interfaces, as 
+ * bound by a class. 
+ * <p>
+ * The superclass and interface chain of each class is walked once, into a 
+ * table binding every type variable of its supertypes. E.g given:
+ * </p>
+ * <pre><code>
+ * class BaseEntity&lt;T&gt; { public List&lt;T&gt; getIds() {...} }
+ * class Person extends BaseEntity&lt;Long&gt; { }
+ * </code></pre>
+ * <tt>TypeResolver.of(Person.class).getElementType("ids")</tt> returns 
+ * <tt>Long.class</tt>. Property types are memoized, and instances are cached
+ * per class, hence repeated queries cost a map lookup.
+ * <p>
+ * Thread safe.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 22, 2018 11:02:44 AM
+ */
+public final class TypeResolver {
+    
+    private static final ClassValue<TypeResolver> CACHE = new ClassValue<TypeResolver>() {
+        @Override
+        protected TypeResolver computeValue(Class<?> type) {
+            return new TypeResolver(type);
+        }
+    };
+    
+    public static TypeResolver of(Class<?> type) {
+        return CACHE.get(type);
+    }
+    
+    private final Class<?> type;
+    
+    /**
+     * The type variables of the supertypes, bound to types in terms of this 
+     * class and its own type variables
+     */
+    private final Map<TypeVariable<?>, Type> bindings;
+    
+    private final ConcurrentMap<String, Optional<Type>> propertyTypes = new ConcurrentHashMap<>();
+    
+    private final ConcurrentMap<String, Optional<Class<?>>> elementTypes = new ConcurrentHashMap<>();
+
+    private TypeResolver(Class<?> type) {
+        this.type = type;
+        final Map<TypeVariable<?>, Type> map = new HashMap<>();
+        this.bind(type, map);
+        this.bindings = map;
+    }
+    
+    /**
+     * Binds the type variables of the supertypes of the class. Variables
+     * bound to variables of a subclass are resolved in terms of that 
+     * subclass, hence all bindings end up in terms of the root class.
+     */
+    private void bind(Class<?> aClass, Map<TypeVariable<?>, Type> map) {
+        this.bindSupertype(aClass.getGenericSuperclass(), map);
+        for(Type anInterface : aClass.getGenericInterfaces()) {
+            this.bindSupertype(anInterface, map);
+        }
+    }
+    
+    private void bindSupertype(Type supertype, Map<TypeVariable<?>, Type> map) {
+        if(supertype == null) {
+            return;
+        }
+        final Class<?> rawType = getRawType(supertype);
+        if(supertype instanceof ParameterizedType) {
+            final TypeVariable<?> [] variables = rawType.getTypeParameters();
+            final Type [] arguments = ((ParameterizedType)supertype).getActualTypeArguments();
+            for(int i=0; i<variables.length && i<arguments.length; i++) {
+                map.putIfAbsent(variables[i], substitute(arguments[i], map));
+            }
+        }
+        this.bind(rawType, map);
+    }
+    
+    /**
+     * @param aType The type to resolve
+     * @return The type with each type variable bound by the class of this 
+     * resolver replaced by its binding. Unbound type variables are retained.
+     */
+    public Type resolve(Type aType) {
+        return substitute(aType, bindings);
+    }
+    
+    private static Type substitute(Type aType, Map<TypeVariable<?>, Type> map) {
+        if(aType instanceof Class) {
+            return aType;
+        }else if(aType instanceof TypeVariable) {
+            final Type bound = map.get(aType);
+            return bound == null ? aType : bound;
+        }else if(aType instanceof ParameterizedType) {
+            final ParameterizedType parameterized = (ParameterizedType)aType;
+            final Type [] arguments = parameterized.getActualTypeArguments();
+            final boolean changed = substituteAll(arguments, map);
+            return !changed ? aType : new ResolvedParameterizedType(
+                    (Class<?>)parameterized.getRawType(), parameterized.getOwnerType(), arguments);
+        }else if(aType instanceof GenericArrayType) {
+            final Type component = substitute(((GenericArrayType)aType).getGenericComponentType(), map);
+            return component instanceof Class ? Array.newInstance((Class<?>)component, 0).getClass() : aType;
+        }else if(aType instanceof WildcardType) {
+            final WildcardType wildcard = (WildcardType)aType;
+            final Type [] upperBounds = wildcard.getUpperBounds();
+            final Type [] lowerBounds = wildcard.getLowerBounds();
+            final boolean changed = substituteAll(upperBounds, map) | substituteAll(lowerBounds, map);
+            return !changed ? aType : new ResolvedWildcardType(upperBounds, lowerBounds);
+        }
+        return aType;
+    }
+    
+    /**
+     * Substitutes each of the types in place.
+     * @return true if any of the types was changed
+     */
+    private static boolean substituteAll(Type [] types, Map<TypeVariable<?>, Type> map) {
+        boolean changed = false;
+        for(int i=0; i<types.length; i++) {
+            final Type substituted = substitute(types[i], map);
+            changed |= substituted != types[i];
+            types[i] = substituted;
+        }
+        return changed;
+    }
+    
+    /**
+     * @param aType The type whose type argument is to be returned
+     * @param supertype A generic class or interface which the type extends or implements
+     * @param index The position of the type parameter of the supertype 
+     * @return The type argument of the supertype as bound by the type, or 
+     * null if the type is not a subtype of the supertype or the type argument
+     * is not bound.
+     */
+    public Type resolveTypeArgument(Type aType, Class<?> supertype, int index) {
+        final Type resolved = this.resolve(aType);
+        final Class<?> rawType = getRawType(resolved);
+        if(rawType == null || !supertype.isAssignableFrom(rawType)) {
+            return null;
+        }
+        final TypeVariable<?> [] variables = supertype.getTypeParameters();
+        if(index < 0 || index >= variables.length) {
+            return null;
+        }
+        Type output = rawType == supertype ? variables[index] : 
+                TypeResolver.of(rawType).bindings.get(variables[index]);
+        if(output == null) {
+            return null;
+        }
+        // Replace variables of the raw type with the arguments of the resolved type
+        if(resolved instanceof ParameterizedType) {
+            final TypeVariable<?> [] own = rawType.getTypeParameters();
+            final Type [] arguments = ((ParameterizedType)resolved).getActualTypeArguments();
+            final Map<TypeVariable<?>, Type> map = new HashMap<>(own.length * 2);
+            for(int i=0; i<own.length && i<arguments.length; i++) {
+                map.put(own[i], arguments[i]);
+            }
+            output = substitute(output, map);
+        }
+        return output instanceof TypeVariable ? null : output;
+    }
+    
+    /**
+     * @param propertyName The name of the property
+     * @return The generic type of the property, resolved against the class 
+     * of this resolver, or null if the class has no such property. The type 
+     * is that of the getter if any, otherwise the setter's parameter, 
+     * otherwise the field's.
+     */
+    public Type getPropertyType(String propertyName) {
+        Optional<Type> output = propertyTypes.get(propertyName);
+        if(output == null) {
+            output = Optional.ofNullable(this.computePropertyType(propertyName));
+            propertyTypes.putIfAbsent(propertyName, output);
+        }
+        return output.orElse(null);
+    }
+    
+    /**
+     * For arrays the element type is the component type, for collections 
+     * (any {@link java.lang.Iterable}) the type argument of Iterable and for 
+     * maps the value type.
+     * @param propertyName The name of the property
+     * @return The element type of the property resolved against the class of
+     * this resolver, or null if the class has no such property, the property
+     * has no element type, or it could not be resolved to a class.
+     */
+    public Class<?> getElementType(String propertyName) {
+        Optional<Class<?>> output = elementTypes.get(propertyName);
+        if(output == null) {
+            output = Optional.ofNullable(this.computeElementType(propertyName));
+            elementTypes.putIfAbsent(propertyName, output);
+        }
+        return output.orElse(null);
+    }
+    
+    private Type computePropertyType(String propertyName) {
+        final Property property = ClassProperties.of(type).getProperty(propertyName);
+        if(property == null) {
+            return null;
+        }
+        final Method getter = property.getGetter();
+        if(getter != null) {
+            return this.resolve(getter.getGenericReturnType());
+        }
+        final Method setter = property.getSetter();
+        if(setter != null) {
+            return this.resolve(setter.getGenericParameterTypes()[0]);
+        }
+        final Field field = property.getField();
+        return field == null ? null : this.resolve(field.getGenericType());
+    }
+    
+    private Class<?> computeElementType(String propertyName) {
+        final Type propertyType = this.getPropertyType(propertyName);
+        if(propertyType == null) {
+            return null;
+        }
+        final Class<?> rawType = getRawType(propertyType);
+        final Type elementType;
+        if(rawType.isArray()) {
+            elementType = propertyType instanceof GenericArrayType ? 
+                    ((GenericArrayType)propertyType).getGenericComponentType() : rawType.getComponentType();
+        }else if(Iterable.class.isAssignableFrom(rawType)) {
+            elementType = this.resolveTypeArgument(propertyType, Iterable.class, 0);
+        }else if(Map.class.isAssignableFrom(rawType)) {
+            elementType = this.resolveTypeArgument(propertyType, Map.class, 1);
+        }else{
+            elementType = null;
+        }
+        return this.toElementClass(elementType);
+    }
+    
+    private Class<?> toElementClass(Type elementType) {
+        if(elementType instanceof WildcardType) {
+            final WildcardType wildcard = (WildcardType)elementType;
+            // For ? super X, X is the most specific type known to be accepted
+            final Type [] lowerBounds = wildcard.getLowerBounds();
+            elementType = lowerBounds.length > 0 ? lowerBounds[0] : wildcard.getUpperBounds()[0];
+        }
+        return elementType == null || elementType instanceof TypeVariable ? null : getRawType(elementType);
+    }
+    
+    /**
+     * @param aType The type whose raw type is to be returned
+     * @return The class of the type, the raw type of parameterized types and
+     * the first upper bound of type variables and wildcards.
+     */
+    public static Class<?> getRawType(Type aType) {
+        if(aType instanceof Class) {
+            return (Class<?>)aType;
+        }else if(aType instanceof ParameterizedType) {
+            return (Class<?>)((ParameterizedType)aType).getRawType();
+        }else if(aType instanceof GenericArrayType) {
+            final Class<?> component = getRawType(((GenericArrayType)aType).getGenericComponentType());
+            return component == null ? null : Array.newInstance(component, 0).getClass();
+        }else if(aType instanceof TypeVariable) {
+            return getRawType(((TypeVariable<?>)aType).getBounds()[0]);
+        }else if(aType instanceof WildcardType) {
+            return getRawType(((WildcardType)aType).getUpperBounds()[0]);
+        }
+        return null;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    @Override
+    public String toString() {
+        return "TypeResolver{" + "type=" + type.getName() + ", bindings=" + bindings + '}';
+    }
+}
@@ -0,0 +1,501 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection.accessor;
+
+import com.bc.reflection.ClassProperties;
+import com.bc.reflection.Property;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Compiles the getters and setters of a class into a {@link BeanAccessor}.
+ * <p>
+ * Accessors are created once per class and cached by each instance of this 
+ * class. Instances should therefore be shared rather than created per use.
+ * </p>
+ * Subclasses determine the strategy used to access each getter/setter.
+ * Properties without getter or setter, and properties selected via
+ * {@link #isFieldAccess(java.lang.Class, com.bc.reflection.Property)}, are 
+ * accessed directly via their fields.
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2018 11:24:16 AM
+ */
+public abstract class AccessorFactory {
+
+    private static final Logger LOG = Logger.getLogger(AccessorFactory.class.getName());
+
+    private static final MethodType FIELD_GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType FIELD_SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final MethodType INT_FIELD_GETTER_TYPE = MethodType.methodType(int.class, Object.class);
+
+    private static final MethodType LONG_FIELD_GETTER_TYPE = MethodType.methodType(long.class, Object.class);
+
+    private static final MethodType DOUBLE_FIELD_GETTER_TYPE = MethodType.methodType(double.class, Object.class);
+
+    private static final MethodType INT_FIELD_SETTER_TYPE = MethodType.methodType(void.class, Object.class, int.class);
+
+    private static final MethodType LONG_FIELD_SETTER_TYPE = MethodType.methodType(void.class, Object.class, long.class);
+
+    private static final MethodType DOUBLE_FIELD_SETTER_TYPE = MethodType.methodType(void.class, Object.class, double.class);
+    
+    private static final class DefaultInstanceHolder {
+        private static final AccessorFactory INSTANCE = new GeneratedAccessorFactory(new LambdaAccessorFactory());
+    }
+    
+    /**
+     * @return The shared AccessorFactory used when none is specified, which 
+     * prefers the accessors generated for classes annotated with {@link GenerateAccessor}
+     */
+    public static AccessorFactory getDefault() {
+        return DefaultInstanceHolder.INSTANCE;
+    }
+
+    private final ClassValue<BeanAccessor> accessors = new ClassValue<BeanAccessor>() {
+        @Override
+        protected BeanAccessor computeValue(Class<?> type) {
+            return newAccessor(ClassProperties.of(type));
+        }
+    };
+    
+    protected AccessorFactory() { }
+
+    /**
+     * @param type The class whose accessor is to be returned
+     * @return The cached {@link BeanAccessor} for the specified class
+     */
+    public final BeanAccessor getAccessor(Class<?> type) {
+        return accessors.get(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T [] newArray(Class<? super T> componentType, int size) {
+        return (T[])Array.newInstance(componentType, size);
+    }
+
+    protected BeanAccessor newAccessor(ClassProperties properties) {
+        final int size = properties.size();
+        final Function<Object, Object> [] getters = newArray(Function.class, size);
+        final BiConsumer<Object, Object> [] setters = newArray(BiConsumer.class, size);
+        final ToIntFunction<Object> [] intGetters = newArray(ToIntFunction.class, size);
+        final ToLongFunction<Object> [] longGetters = newArray(ToLongFunction.class, size);
+        final ToDoubleFunction<Object> [] doubleGetters = newArray(ToDoubleFunction.class, size);
+        final ObjIntConsumer<Object> [] intSetters = newArray(ObjIntConsumer.class, size);
+        final ObjLongConsumer<Object> [] longSetters = newArray(ObjLongConsumer.class, size);
+        final ObjDoubleConsumer<Object> [] doubleSetters = newArray(ObjDoubleConsumer.class, size);
+        for(int i=0; i<size; i++) {
+            final Property property = properties.getProperty(i);
+            final Field field = property.getField();
+            final boolean fieldAccess = field != null && 
+                    (property.isFieldOnly() || this.isFieldAccess(properties.getType(), property));
+            final Method getter = property.getGetter();
+            if(fieldAccess) {
+                getters[i] = this.newFieldGetter(field);
+                final Class<?> type = field.getType();
+                if(isWidenable(type, int.class)) {
+                    intGetters[i] = this.newIntFieldGetter(field);
+                }
+                if(isWidenable(type, long.class)) {
+                    longGetters[i] = this.newLongFieldGetter(field);
+                }
+                if(isWidenable(type, double.class)) {
+                    doubleGetters[i] = this.newDoubleFieldGetter(field);
+                }
+            }else if(getter != null) {
+                getters[i] = this.newGetter(getter);
+                final Class<?> type = getter.getReturnType();
+                if(isWidenable(type, int.class)) {
+                    intGetters[i] = this.newIntGetter(getter);
+                }
+                if(isWidenable(type, long.class)) {
+                    longGetters[i] = this.newLongGetter(getter);
+                }
+                if(isWidenable(type, double.class)) {
+                    doubleGetters[i] = this.newDoubleGetter(getter);
+                }
+            }
+            final Method setter = property.getSetter();
+            if(fieldAccess && !Modifier.isFinal(field.getModifiers())) {
+                setters[i] = this.newFieldSetter(field);
+                final Class<?> type = field.getType();
+                if(isWidenable(int.class, type)) {
+                    intSetters[i] = this.newIntFieldSetter(field);
+                }
+                if(isWidenable(long.class, type)) {
+                    longSetters[i] = this.newLongFieldSetter(field);
+                }
+                if(isWidenable(double.class, type)) {
+                    doubleSetters[i] = this.newDoubleFieldSetter(field);
+                }
+            }else if(setter != null) {
+                setters[i] = this.newSetter(setter);
+                final Class<?> type = setter.getParameterTypes()[0];
+                if(isWidenable(int.class, type)) {
+                    intSetters[i] = this.newIntSetter(setter);
+                }
+                if(isWidenable(long.class, type)) {
+                    longSetters[i] = this.newLongSetter(setter);
+                }
+                if(isWidenable(double.class, type)) {
+                    doubleSetters[i] = this.newDoubleSetter(setter);
+                }
+            }
+        }
+        return new FunctionalBeanAccessor(properties, getters, setters, 
+                intGetters, longGetters, doubleGetters, 
+                intSetters, longSetters, doubleSetters);
+    }
+    
+    /**
+     * Properties which have neither getter nor setter are always accessed via 
+     * their fields. This default implementation returns false.
+     * @param type The class whose accessor is being created
+     * @param property The property of the class which has a field
+     * @return true if the property should be accessed directly via its field, 
+     * rather than via its getter and setter
+     */
+    protected boolean isFieldAccess(Class<?> type, Property property) {
+        return false;
+    }
+    
+    /**
+     * @param field The field to read
+     * @return A function which accepts a bean and returns the value of the 
+     * field of the bean
+     */
+    protected Function<Object, Object> newFieldGetter(Field field) {
+        final MethodHandle handle = this.unreflectField(field, false, FIELD_GETTER_TYPE);
+        if(handle == null) {
+            return (bean) -> {
+                try{
+                    return field.get(bean);
+                }catch(IllegalAccessException e) {
+                    throw rethrow(e);
+                }
+            };
+        }
+        return (bean) -> {
+            try{
+                return (Object)handle.invokeExact(bean);
+            }catch(Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    /**
+     * @param field The field to write
+     * @return A consumer which accepts a bean and a value and sets the field
+     * of the bean to the value
+     */
+    protected BiConsumer<Object, Object> newFieldSetter(Field field) {
+        final MethodHandle handle = this.unreflectField(field, true, FIELD_SETTER_TYPE);
+        if(handle == null) {
+            return (bean, value) -> {
+                try{
+                    field.set(bean, value);
+                }catch(IllegalAccessException e) {
+                    throw rethrow(e);
+                }
+            };
+        }
+        return (bean, value) -> {
+            try{
+                handle.invokeExact(bean, value);
+            }catch(Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+    
+    /**
+     * Called only for fields whose type is a primitive which may be widened 
+     * to int.
+     * @param field The field to read
+     * @return A function which returns the value of the field of a bean 
+     * without boxing, or null
+     */
+    protected ToIntFunction<Object> newIntFieldGetter(Field field) {
+        final MethodHandle handle = this.unreflectField(field, false, INT_FIELD_GETTER_TYPE);
+        if(handle == null) {
+            return null;
+        }
+        return (bean) -> {
+            try{
+                return (int)handle.invokeExact(bean);
+            }catch(Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    /**
+     * @param field The field to read
+     * @return A function which returns the value of the field of a bean 
+     * without boxing, or null
+     * @see #newIntFieldGetter(java.lang.reflect.Field) 
+     */
+    protected ToLongFunction<Object> newLongFieldGetter(Field field) {
+        final MethodHandle handle = this.unreflectField(field, false, LONG_FIELD_GETTER_TYPE);
+        if(handle == null) {
+            return null;
+        }
+        return (bean) -> {
+            try{
+                return (long)handle.invokeExact(bean);
+            }catch(Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    /**
+     * @param field The field to read
+     * @return A function which returns the value of the field of a bean 
+     * without boxing, or null
+     * @see #newIntFieldGetter(java.lang.reflect.Field) 
+     */
+    protected ToDoubleFunction<Object> newDoubleFieldGetter(Field field) {
+        final MethodHandle handle = this.unreflectField(field, false, DOUBLE_FIELD_GETTER_TYPE);
+        if(handle == null) {
+            return null;
+        }
+        return (bean) -> {
+            try{
+                return (double)handle.invokeExact(bean);
+            }catch(Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+    
+    /**
+     * Called only for non final fields whose type is a primitive to which
+     * an int may be widened.
+     * @param field The field to write
+     * @return A consumer which sets the field of a bean without boxing, or null
+     */
+    protected ObjIntConsumer<Object> newIntFieldSetter(Field field) {
+        final MethodHandle handle = this.unreflectField(field, true, INT_FIELD_SETTER_TYPE);
+        if(handle == null) {
+            return null;
+        }
+        return (bean, value) -> {
+            try{
+                handle.invokeExact(bean, value);
+            }catch(Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    /**
+     * @param field The field to write
+     * @return A consumer which sets the field of a bean without boxing, or null
+     * @see #newIntFieldSetter(java.lang.reflect.Field) 
+     */
+    protected ObjLongConsumer<Object> newLongFieldSetter(Field field) {
+        final MethodHandle handle = this.unreflectField(field, true, LONG_FIELD_SETTER_TYPE);
+        if(handle == null) {
+            return null;
+        }
+        return (bean, value) -> {
+            try{
+                handle.invokeExact(bean, value);
+            }catch(Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    /**
+     * @param field The field to write
+     * @return A consumer which sets the field of a bean without boxing, or null
+     * @see #newIntFieldSetter(java.lang.reflect.Field) 
+     */
+    protected ObjDoubleConsumer<Object> newDoubleFieldSetter(Field field) {
+        final MethodHandle handle = this.unreflectField(field, true, DOUBLE_FIELD_SETTER_TYPE);
+        if(handle == null) {
+            return null;
+        }
+        return (bean, value) -> {
+            try{
+                handle.invokeExact(bean, value);
+            }catch(Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+    
+    private MethodHandle unreflectField(Field field, boolean setter, MethodType type) {
+        try{
+            if(!field.isAccessible()) {
+                field.setAccessible(true);
+            }
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            final MethodHandle handle = setter ? lookup.unreflectSetter(field) : lookup.unreflectGetter(field);
+            return handle.asType(type);
+        }catch(IllegalAccessException | RuntimeException e) {
+            if(LOG.isLoggable(Level.FINE)) {
+                LOG.log(Level.FINE, "Will use reflection for: " + field, e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * @param getter The getter method to compile
+     * @return A function which accepts a bean and returns the result of 
+     * invoking the getter on the bean
+     */
+    protected abstract Function<Object, Object> newGetter(Method getter);
+
+    /**
+     * @param setter The setter method to compile
+     * @return A consumer which accepts a bean and a value and invokes the 
+     * setter on the bean with the value
+     */
+    protected abstract BiConsumer<Object, Object> newSetter(Method setter);
+
+    /**
+     * Called only for getters whose return type is a primitive which may be 
+     * widened to int. This default implementation returns null, in which case
+     * the value is read via the boxing getter.
+     * @param getter The getter method to compile
+     * @return A function which returns the result of invoking the getter on 
+     * a bean without boxing, or null
+     */
+    protected ToIntFunction<Object> newIntGetter(Method getter) {
+        return null;
+    }
+
+    /**
+     * @param getter The getter method to compile
+     * @return A function which returns the result of invoking the getter on 
+     * a bean without boxing, or null
+     * @see #newIntGetter(java.lang.reflect.Method) 
+     */
+    protected ToLongFunction<Object> newLongGetter(Method getter) {
+        return null;
+    }
+
+    /**
+     * @param getter The getter method to compile
+     * @return A function which returns the result of invoking the getter on 
+     * a bean without boxing, or null
+     * @see #newIntGetter(java.lang.reflect.Method) 
+     */
+    protected ToDoubleFunction<Object> newDoubleGetter(Method getter) {
+        return null;
+    }
+    
+    /**
+     * Called only for setters whose parameter type is a primitive to which 
+     * an int may be widened. This default implementation returns null, in 
+     * which case the value is written via the boxing setter.
+     * @param setter The setter method to compile
+     * @return A consumer which invokes the setter on a bean without boxing, or null
+     */
+    protected ObjIntConsumer<Object> newIntSetter(Method setter) {
+        return null;
+    }
+
+    /**
+     * @param setter The setter method to compile
+     * @return A consumer which invokes the setter on a bean without boxing, or null
+     * @see #newIntSetter(java.lang.reflect.Method) 
+     */
+    protected ObjLongConsumer<Object> newLongSetter(Method setter) {
+        return null;
+    }
+
+    /**
+     * @param setter The setter method to compile
+     * @return A consumer which invokes the setter on a bean without boxing, or null
+     * @see #newIntSetter(java.lang.reflect.Method) 
+     */
+    protected ObjDoubleConsumer<Object> newDoubleSetter(Method setter) {
+        return null;
+    }
+    
+    /**
+     * @param from The type to widen
+     * @param to The primitive type to widen to
+     * @return true if from is a primitive type which is the same as, or may 
+     * be widened to, the specified primitive type 
+     */
+    protected static boolean isWidenable(Class<?> from, Class<?> to) {
+        if(!from.isPrimitive() || from == void.class || from == boolean.class) {
+            return false;
+        }
+        if(from == to) {
+            return true;
+        }
+        if(to == double.class) {
+            return true;
+        }
+        if(to == float.class) {
+            return from != double.class;
+        }
+        if(to == long.class) {
+            return from != double.class && from != float.class;
+        }
+        if(to == int.class) {
+            return from == byte.class || from == short.class || from == char.class;
+        }
+        if(to == short.class) {
+            return from == byte.class;
+        }
+        return false;
+    }
+
+    /**
+     * Unchecked exceptions and errors are returned/thrown as is. Checked 
+     * exceptions are wrapped in a RuntimeException. The cause of an 
+     * {@link java.lang.reflect.InvocationTargetException} is first unwrapped.
+     * @param t The Throwable to rethrow
+     * @return A RuntimeException to throw
+     */
+    protected static RuntimeException rethrow(Throwable t) {
+        if(t instanceof InvocationTargetException && t.getCause() != null) {
+            t = t.getCause();
+        }
+        if(t instanceof Error) {
+            throw (Error)t;
+        }
+        if(t instanceof RuntimeException) {
+            return (RuntimeException)t;
+        }
+        return new RuntimeException(t);
+    }
+}
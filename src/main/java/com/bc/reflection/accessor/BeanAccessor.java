@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection.accessor;
+
+/**
+ * Reads and writes the properties of beans of a single class. Properties are
+ * identified by their index as returned by {@link com.bc.reflection.Property#getIndex()}
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2018 11:20:05 AM
+ * @see com.bc.reflection.ClassProperties
+ */
+public interface BeanAccessor {
+
+    /**
+     * @param bean The bean whose property value is to be returned
+     * @param index The index of the property
+     * @return The value of the property at the specified index
+     * @throws IllegalArgumentException if the property is not readable
+     */
+    Object get(Object bean, int index);
+
+    /**
+     * @param bean The bean whose property value is to be set
+     * @param index The index of the property
+     * @param value The value to set
+     * @throws IllegalArgumentException if the property is not writable
+     */
+    void set(Object bean, int index, Object value);
+
+    /**
+     * Implementations should read primitive properties without boxing. This 
+     * default implementation unboxes the result of {@link #get(java.lang.Object, int)}
+     * @param bean The bean whose property value is to be returned
+     * @param index The index of the property
+     * @return The value of the property at the specified index as an int
+     * @throws IllegalArgumentException if the property is not readable
+     * @throws ClassCastException if the value of the property is not a number
+     */
+    default int getInt(Object bean, int index) {
+        return ((Number)this.get(bean, index)).intValue();
+    }
+
+    /**
+     * @param bean The bean whose property value is to be returned
+     * @param index The index of the property
+     * @return The value of the property at the specified index as a long
+     * @see #getInt(java.lang.Object, int) 
+     */
+    default long getLong(Object bean, int index) {
+        return ((Number)this.get(bean, index)).longValue();
+    }
+
+    /**
+     * @param bean The bean whose property value is to be returned
+     * @param index The index of the property
+     * @return The value of the property at the specified index as a double
+     * @see #getInt(java.lang.Object, int) 
+     */
+    default double getDouble(Object bean, int index) {
+        return ((Number)this.get(bean, index)).doubleValue();
+    }
+
+    /**
+     * Implementations should write primitive properties without boxing. This
+     * default implementation boxes the value and calls {@link #set(java.lang.Object, int, java.lang.Object)},
+     * which like reflection must widen the boxed value to the type of the 
+     * property, e.g an Integer to a long, see {@link Primitives}.
+     * @param bean The bean whose property value is to be set
+     * @param index The index of the property
+     * @param value The value to set
+     * @throws IllegalArgumentException if the property is not writable
+     */
+    default void setInt(Object bean, int index, int value) {
+        this.set(bean, index, value);
+    }
+
+    /**
+     * @param bean The bean whose property value is to be set
+     * @param index The index of the property
+     * @param value The value to set
+     * @see #setInt(java.lang.Object, int, int) 
+     */
+    default void setLong(Object bean, int index, long value) {
+        this.set(bean, index, value);
+    }
+
+    /**
+     * @param bean The bean whose property value is to be set
+     * @param index The index of the property
+     * @param value The value to set
+     * @see #setInt(java.lang.Object, int, int) 
+     */
+    default void setDouble(Object bean, int index, double value) {
+        this.set(bean, index, value);
+    }
+}
@@ -0,0 +1,404 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection.accessor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes the class file of a {@link GeneratedBeanAccessor} subclass, whose 
+ * <code>get</code> and <code>set</code> methods dispatch on the property index
+ * via a <code>tableswitch</code> to direct calls of the getters/setters, or 
+ * direct reads/writes of the fields, of a single bean class. All other 
+ * indexes go to the fallback accessor. Values set to primitive properties 
+ * are converted via {@link Primitives}, hence widened as by reflection.
+ * <p>
+ * Class file version 49 is written, which is verified by type inference and 
+ * hence requires no stack map frames.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 22, 2018 2:51:40 PM
+ * @see https://docs.oracle.com/javase/specs/jvms/se8/html/jvms-4.html
+ */
+final class BeanAccessorClassWriter {
+    
+    private static final int VERSION = 49;
+    
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+    
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ALOAD_3 = 0x2d;
+    private static final int ILOAD_2 = 0x1c;
+    private static final int POP = 0x57;
+    private static final int POP2 = 0x58;
+    private static final int TABLESWITCH = 0xaa;
+    private static final int ARETURN = 0xb0;
+    private static final int RETURN = 0xb1;
+    private static final int GETFIELD = 0xb4;
+    private static final int PUTFIELD = 0xb5;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int INVOKEINTERFACE = 0xb9;
+    private static final int CHECKCAST = 0xc0;
+    
+    private static final String SUPER_NAME = internalName(GeneratedBeanAccessor.class);
+    private static final String ACCESSOR_NAME = internalName(BeanAccessor.class);
+    private static final String ACCESSOR_DESC = descriptor(BeanAccessor.class);
+    private static final String PRIMITIVES_NAME = internalName(Primitives.class);
+    
+    private final ByteArrayOutputStream constants = new ByteArrayOutputStream();
+    private final DataOutputStream constantPool = new DataOutputStream(constants);
+    private final Map<String, Integer> constantIndexes = new HashMap<>();
+    private int constantCount = 1;
+    
+    private final String beanName;
+    
+    private BeanAccessorClassWriter(Class<?> beanType) {
+        this.beanName = internalName(beanType);
+    }
+    
+    /**
+     * @param className The binary name of the class to write
+     * @param beanType The bean class to access
+     * @param getters The {@link java.lang.reflect.Method} or 
+     * {@link java.lang.reflect.Field} to read, per property index, or null 
+     * for properties read via the fallback
+     * @param setters The {@link java.lang.reflect.Method} or 
+     * {@link java.lang.reflect.Field} to write, per property index, or null
+     * for properties written via the fallback
+     * @return The class file
+     */
+    static byte [] write(String className, Class<?> beanType, Member [] getters, Member [] setters) {
+        try{
+            return new BeanAccessorClassWriter(beanType).writeClass(
+                    className.replace('.', '/'), getters, setters);
+        }catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private byte [] writeClass(String className, Member [] getters, Member [] setters) throws IOException {
+        
+        final int thisClass = this.classConstant(className);
+        final int superClass = this.classConstant(SUPER_NAME);
+        
+        final byte [] init = this.method("<init>", "(" + ACCESSOR_DESC + ")V", 2, 2, this.initCode());
+        final byte [] get = this.method("get", "(Ljava/lang/Object;I)Ljava/lang/Object;", 
+                3, 3, this.getCode(getters));
+        final byte [] set = this.method("set", "(Ljava/lang/Object;ILjava/lang/Object;)V", 
+                4, 4, this.setCode(setters));
+        
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0xCAFEBABE);
+        out.writeShort(0);
+        out.writeShort(VERSION);
+        out.writeShort(constantCount);
+        constants.writeTo(out);
+        out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+        out.writeShort(thisClass);
+        out.writeShort(superClass);
+        out.writeShort(0); // interfaces
+        out.writeShort(0); // fields
+        out.writeShort(3); // methods
+        out.write(init);
+        out.write(get);
+        out.write(set);
+        out.writeShort(0); // attributes
+        out.flush();
+        return bytes.toByteArray();
+    }
+    
+    private byte [] initCode() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream code = new DataOutputStream(bytes);
+        code.writeByte(ALOAD_0);
+        code.writeByte(ALOAD_1);
+        code.writeByte(INVOKESPECIAL);
+        code.writeShort(this.memberConstant(CONSTANT_METHODREF, SUPER_NAME, 
+                "<init>", "(" + ACCESSOR_DESC + ")V"));
+        code.writeByte(RETURN);
+        code.flush();
+        return bytes.toByteArray();
+    }
+    
+    private byte [] getCode(Member [] getters) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream code = new DataOutputStream(bytes);
+        final int [] targets = new int[getters.length];
+        for(int i=0; i<getters.length; i++) {
+            final Member member = getters[i];
+            if(member == null) {
+                targets[i] = -1;
+                continue;
+            }
+            targets[i] = code.size();
+            code.writeByte(ALOAD_1);
+            code.writeByte(CHECKCAST);
+            code.writeShort(this.classConstant(beanName));
+            final Class<?> type;
+            if(member instanceof Field) {
+                type = ((Field)member).getType();
+                code.writeByte(GETFIELD);
+                code.writeShort(this.memberConstant(CONSTANT_FIELDREF, 
+                        beanName, member.getName(), descriptor(type)));
+            }else{
+                type = ((Method)member).getReturnType();
+                code.writeByte(INVOKEVIRTUAL);
+                code.writeShort(this.memberConstant(CONSTANT_METHODREF, 
+                        beanName, member.getName(), descriptor((Method)member)));
+            }
+            if(type.isPrimitive()) {
+                final Class<?> wrapper = LambdaAccessorFactory.wrap(type);
+                code.writeByte(INVOKESTATIC);
+                code.writeShort(this.memberConstant(CONSTANT_METHODREF, internalName(wrapper), 
+                        "valueOf", "(" + descriptor(type) + ")" + descriptor(wrapper)));
+            }
+            code.writeByte(ARETURN);
+        }
+        final int fallback = code.size();
+        code.writeByte(ALOAD_0);
+        code.writeByte(GETFIELD);
+        code.writeShort(this.memberConstant(CONSTANT_FIELDREF, SUPER_NAME, "fallback", ACCESSOR_DESC));
+        code.writeByte(ALOAD_1);
+        code.writeByte(ILOAD_2);
+        code.writeByte(INVOKEINTERFACE);
+        code.writeShort(this.memberConstant(CONSTANT_INTERFACE_METHODREF, ACCESSOR_NAME, 
+                "get", "(Ljava/lang/Object;I)Ljava/lang/Object;"));
+        code.writeByte(3);
+        code.writeByte(0);
+        code.writeByte(ARETURN);
+        code.flush();
+        return tableswitch(targets, fallback, bytes.toByteArray());
+    }
+    
+    private byte [] setCode(Member [] setters) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream code = new DataOutputStream(bytes);
+        final int [] targets = new int[setters.length];
+        for(int i=0; i<setters.length; i++) {
+            final Member member = setters[i];
+            if(member == null) {
+                targets[i] = -1;
+                continue;
+            }
+            targets[i] = code.size();
+            code.writeByte(ALOAD_1);
+            code.writeByte(CHECKCAST);
+            code.writeShort(this.classConstant(beanName));
+            code.writeByte(ALOAD_3);
+            final Class<?> type = member instanceof Field ? 
+                    ((Field)member).getType() : ((Method)member).getParameterTypes()[0];
+            if(type.isPrimitive()) {
+                // Widens as Method.invoke would e.g Integer to long
+                final String name = type.getName();
+                code.writeByte(INVOKESTATIC);
+                code.writeShort(this.memberConstant(CONSTANT_METHODREF, PRIMITIVES_NAME, 
+                        "to" + Character.toUpperCase(name.charAt(0)) + name.substring(1), 
+                        "(Ljava/lang/Object;)" + descriptor(type)));
+            }else if(type != Object.class) {
+                code.writeByte(CHECKCAST);
+                code.writeShort(this.classConstant(internalName(type)));
+            }
+            if(member instanceof Field) {
+                code.writeByte(PUTFIELD);
+                code.writeShort(this.memberConstant(CONSTANT_FIELDREF, 
+                        beanName, member.getName(), descriptor(type)));
+            }else{
+                final Method method = (Method)member;
+                code.writeByte(INVOKEVIRTUAL);
+                code.writeShort(this.memberConstant(CONSTANT_METHODREF, 
+                        beanName, method.getName(), descriptor(method)));
+                // Fluent setters return a value
+                final Class<?> returnType = method.getReturnType();
+                if(returnType == long.class || returnType == double.class) {
+                    code.writeByte(POP2);
+                }else if(returnType != void.class) {
+                    code.writeByte(POP);
+                }
+            }
+            code.writeByte(RETURN);
+        }
+        final int fallback = code.size();
+        code.writeByte(ALOAD_0);
+        code.writeByte(GETFIELD);
+        code.writeShort(this.memberConstant(CONSTANT_FIELDREF, SUPER_NAME, "fallback", ACCESSOR_DESC));
+        code.writeByte(ALOAD_1);
+        code.writeByte(ILOAD_2);
+        code.writeByte(ALOAD_3);
+        code.writeByte(INVOKEINTERFACE);
+        code.writeShort(this.memberConstant(CONSTANT_INTERFACE_METHODREF, ACCESSOR_NAME, 
+                "set", "(Ljava/lang/Object;ILjava/lang/Object;)V"));
+        code.writeByte(4);
+        code.writeByte(0);
+        code.writeByte(RETURN);
+        code.flush();
+        return tableswitch(targets, fallback, bytes.toByteArray());
+    }
+    
+    /**
+     * @param targets The offset within the cases of each index, or -1 for the fallback
+     * @param fallback The offset within the cases of the fallback
+     * @param cases The code of the cases
+     * @return <code>iload_2</code> and a <code>tableswitch</code> over the 
+     * targets, followed by the cases
+     */
+    private static byte [] tableswitch(int [] targets, int fallback, byte [] cases) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream code = new DataOutputStream(bytes);
+        code.writeByte(ILOAD_2);
+        if(targets.length > 0) {
+            final int address = code.size();
+            code.writeByte(TABLESWITCH);
+            while(code.size() % 4 != 0) {
+                code.writeByte(0);
+            }
+            // Offsets are relative to the address of the tableswitch opcode
+            final int start = code.size() + 12 + 4 * targets.length - address;
+            code.writeInt(start + fallback);
+            code.writeInt(0);
+            code.writeInt(targets.length - 1);
+            for(int target : targets) {
+                code.writeInt(start + (target == -1 ? fallback : target));
+            }
+        }else{
+            code.writeByte(POP);
+        }
+        code.write(cases);
+        code.flush();
+        return bytes.toByteArray();
+    }
+    
+    private byte [] method(String name, String descriptor, int maxStack, int maxLocals, 
+            byte [] code) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeShort(ACC_PUBLIC);
+        out.writeShort(this.utf8Constant(name));
+        out.writeShort(this.utf8Constant(descriptor));
+        out.writeShort(1);
+        out.writeShort(this.utf8Constant("Code"));
+        out.writeInt(12 + code.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.length);
+        out.write(code);
+        out.writeShort(0); // exception table
+        out.writeShort(0); // attributes
+        out.flush();
+        return bytes.toByteArray();
+    }
+    
+    private int utf8Constant(String value) throws IOException {
+        final String key = "U" + value;
+        Integer index = constantIndexes.get(key);
+        if(index == null) {
+            constantPool.writeByte(CONSTANT_UTF8);
+            constantPool.writeUTF(value);
+            index = this.addConstant(key);
+        }
+        return index;
+    }
+    
+    private int classConstant(String internalName) throws IOException {
+        final String key = "C" + internalName;
+        Integer index = constantIndexes.get(key);
+        if(index == null) {
+            final int name = this.utf8Constant(internalName);
+            constantPool.writeByte(CONSTANT_CLASS);
+            constantPool.writeShort(name);
+            index = this.addConstant(key);
+        }
+        return index;
+    }
+    
+    private int memberConstant(int tag, String owner, String name, String descriptor) throws IOException {
+        final String key = tag + owner + '.' + name + descriptor;
+        Integer index = constantIndexes.get(key);
+        if(index == null) {
+            final int ownerIndex = this.classConstant(owner);
+            final int nameIndex = this.utf8Constant(name);
+            final int descriptorIndex = this.utf8Constant(descriptor);
+            final String nameAndTypeKey = "N" + name + descriptor;
+            Integer nameAndType = constantIndexes.get(nameAndTypeKey);
+            if(nameAndType == null) {
+                constantPool.writeByte(CONSTANT_NAME_AND_TYPE);
+                constantPool.writeShort(nameIndex);
+                constantPool.writeShort(descriptorIndex);
+                nameAndType = this.addConstant(nameAndTypeKey);
+            }
+            constantPool.writeByte(tag);
+            constantPool.writeShort(ownerIndex);
+            constantPool.writeShort(nameAndType);
+            index = this.addConstant(key);
+        }
+        return index;
+    }
+    
+    private int addConstant(String key) {
+        final int index = constantCount++;
+        constantIndexes.put(key, index);
+        return index;
+    }
+    
+    static String internalName(Class<?> type) {
+        return type.isArray() ? descriptor(type) : type.getName().replace('.', '/');
+    }
+    
+    static String descriptor(Method method) {
+        final StringBuilder builder = new StringBuilder("(");
+        for(Class<?> type : method.getParameterTypes()) {
+            builder.append(descriptor(type));
+        }
+        return builder.append(')').append(descriptor(method.getReturnType())).toString();
+    }
+    
+    static String descriptor(Class<?> type) {
+        if(type.isArray()) {
+            return type.getName().replace('.', '/');
+        }
+        if(type.isPrimitive()) {
+            if(type == int.class) return "I";
+            if(type == long.class) return "J";
+            if(type == double.class) return "D";
+            if(type == float.class) return "F";
+            if(type == boolean.class) return "Z";
+            if(type == byte.class) return "B";
+            if(type == char.class) return "C";
+            if(type == short.class) return "S";
+            return "V";
+        }
+        return "L" + internalName(type) + ';';
+    }
+}
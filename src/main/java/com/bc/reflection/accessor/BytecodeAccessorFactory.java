@@ -0,0 +1,174 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection.accessor;
+
+import com.bc.reflection.ClassProperties;
+import com.bc.reflection.Property;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Generates one class per bean class, whose <code>get</code> and <code>set</code> 
+ * methods directly call the getters and setters of the bean via a 
+ * <code>tableswitch</code> on the property index. Each property access is 
+ * hence a single monomorphic call, which may be inlined.
+ * <p>
+ * The properties are as resolved by {@link com.bc.reflection.ClassProperties}.
+ * Only public getters/setters and fields of public bean classes are accessed
+ * directly. All other properties, the primitive getters and setters, and beans whose 
+ * accessor could not be generated, are accessed as per {@link LambdaAccessorFactory}.
+ * Where every property is accessed directly, that fallback accessor is created
+ * on first use. Interfaces are not accessed directly.
+ * </p>
+ * <p>
+ * Each generated class is defined in its own class loader, a child of the 
+ * class loader of the bean class, so that it may be unloaded with the bean class.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 22, 2018 3:27:52 PM
+ */
+public class BytecodeAccessorFactory extends LambdaAccessorFactory {
+
+    private static final Logger LOG = Logger.getLogger(BytecodeAccessorFactory.class.getName());
+    
+    private static final class DefiningClassLoader extends ClassLoader {
+        
+        private DefiningClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            // The bean's class loader may not see this library
+            if(name.equals(GeneratedBeanAccessor.class.getName())) {
+                return GeneratedBeanAccessor.class;
+            }
+            if(name.equals(BeanAccessor.class.getName())) {
+                return BeanAccessor.class;
+            }
+            if(name.equals(Primitives.class.getName())) {
+                return Primitives.class;
+            }
+            return super.loadClass(name, resolve);
+        }
+        
+        private Class<?> define(String name, byte [] bytes) {
+            return this.defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+
+    public BytecodeAccessorFactory() { }
+
+    @Override
+    protected BeanAccessor newAccessor(ClassProperties properties) {
+        
+        final Class<?> type = properties.getType();
+        // Interfaces would require invokeinterface, they are rarely beans
+        if(type.isInterface() || !isPublic(type) || type.getName().startsWith("java.")) {
+            return super.newAccessor(properties);
+        }
+        
+        final int size = properties.size();
+        final Member [] getters = new Member[size];
+        final Member [] setters = new Member[size];
+        boolean generate = false;
+        boolean indirect = false;
+        for(int i=0; i<size; i++) {
+            final Property property = properties.getProperty(i);
+            final Field field = property.getField();
+            if(field != null && (property.isFieldOnly() || this.isFieldAccess(type, property))) {
+                if(isDirectlyAccessible(field)) {
+                    getters[i] = field;
+                    if(!Modifier.isFinal(field.getModifiers()) && isPublic(field.getType())) {
+                        setters[i] = field;
+                    }
+                }
+            }else{
+                final Method getter = property.getGetter();
+                if(getter != null && isDirectlyAccessible(getter)) {
+                    getters[i] = getter;
+                }
+                final Method setter = property.getSetter();
+                if(setter != null && isDirectlyAccessible(setter) && isPublic(setter.getParameterTypes()[0])) {
+                    setters[i] = setter;
+                }
+            }
+            generate |= getters[i] != null || setters[i] != null;
+            indirect |= (getters[i] == null && property.isReadable()) || 
+                    (setters[i] == null && property.isWritable());
+        }
+        
+        if(!generate) {
+            return super.newAccessor(properties);
+        }
+        
+        // Where all properties are accessed directly, the fallback serves only
+        // the primitive getters/setters, hence is not created until they are used
+        final BeanAccessor fallback = indirect ? super.newAccessor(properties) : 
+                new LazyBeanAccessor(() -> super.newAccessor(properties));
+        
+        final String className = type.getName() + "$$BytecodeAccessor";
+        try{
+            final byte [] bytes = BeanAccessorClassWriter.write(className, type, getters, setters);
+            final Class<?> generated = new DefiningClassLoader(type.getClassLoader()).define(className, bytes);
+            return (BeanAccessor)generated.getConstructor(BeanAccessor.class).newInstance(fallback);
+        }catch(ReflectiveOperationException | RuntimeException | LinkageError e) {
+            if(LOG.isLoggable(Level.FINE)) {
+                LOG.log(Level.FINE, "Failed to generate accessor for: " + type, e);
+            }
+            return fallback;
+        }
+    }
+    
+    /**
+     * Methods which declare checked exceptions are not accessed directly, 
+     * as such exceptions would otherwise not be wrapped.
+     */
+    private static boolean isDirectlyAccessible(Member member) {
+        final int modifiers = member.getModifiers();
+        if(!Modifier.isPublic(modifiers) || Modifier.isStatic(modifiers)) {
+            return false;
+        }
+        if(member instanceof Method) {
+            for(Class<?> exceptionType : ((Method)member).getExceptionTypes()) {
+                if(!RuntimeException.class.isAssignableFrom(exceptionType) && 
+                        !Error.class.isAssignableFrom(exceptionType)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    
+    private static boolean isPublic(Class<?> type) {
+        while(type.isArray()) {
+            type = type.getComponentType();
+        }
+        if(type.isPrimitive()) {
+            return true;
+        }
+        for(; type != null; type = type.getEnclosingClass()) {
+            if(!Modifier.isPublic(type.getModifiers())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection.accessor;
+
+import com.bc.reflection.Property;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Accesses selected properties directly via their fields, bypassing their 
+ * getters and setters. All other properties are accessed as per 
+ * {@link LambdaAccessorFactory}.
+ * <p>
+ * Only properties which have a field of the same name may be selected. 
+ * Final fields are read via the field and written via the setter, if any.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 22, 2018 9:14:27 AM
+ */
+public class FieldAccessorFactory extends LambdaAccessorFactory {
+    
+    /**
+     * @return An AccessorFactory which accesses every property having a field 
+     * via the field
+     */
+    public static FieldAccessorFactory forAllProperties() {
+        return new FieldAccessorFactory((type, property) -> true);
+    }
+
+    /**
+     * @param classes The classes whose properties are to be accessed via fields
+     * @return An AccessorFactory which accesses the properties of the specified 
+     * classes via their fields
+     */
+    public static FieldAccessorFactory forClasses(Class<?>... classes) {
+        final Set<Class<?>> set = new HashSet<>(Arrays.asList(classes));
+        return new FieldAccessorFactory((type, property) -> set.contains(type));
+    }
+
+    /**
+     * @param test Selects the properties to access via fields
+     * @return An AccessorFactory which accesses the properties accepted by 
+     * the specified Predicate via their fields
+     */
+    public static FieldAccessorFactory forProperties(Predicate<Property> test) {
+        Objects.requireNonNull(test);
+        return new FieldAccessorFactory((type, property) -> test.test(property));
+    }
+    
+    private final BiPredicate<Class<?>, Property> selector;
+
+    /**
+     * @param selector Accepts the class and the property for properties 
+     * which are to be accessed via fields
+     */
+    public FieldAccessorFactory(BiPredicate<Class<?>, Property> selector) {
+        this.selector = Objects.requireNonNull(selector);
+    }
+
+    @Override
+    protected boolean isFieldAccess(Class<?> type, Property property) {
+        return selector.test(type, property);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection.accessor;
+
+import com.bc.reflection.ClassProperties;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@link BeanAccessor} backed by one compiled getter/setter per property.
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2018 11:31:47 AM
+ */
+final class FunctionalBeanAccessor implements BeanAccessor {
+
+    private final ClassProperties properties;
+
+    private final Function<Object, Object> [] getters;
+
+    private final BiConsumer<Object, Object> [] setters;
+    
+    private final ToIntFunction<Object> [] intGetters;
+
+    private final ToLongFunction<Object> [] longGetters;
+
+    private final ToDoubleFunction<Object> [] doubleGetters;
+    
+    private final ObjIntConsumer<Object> [] intSetters;
+
+    private final ObjLongConsumer<Object> [] longSetters;
+
+    private final ObjDoubleConsumer<Object> [] doubleSetters;
+
+    FunctionalBeanAccessor(ClassProperties properties,
+            Function<Object, Object> [] getters, BiConsumer<Object, Object> [] setters,
+            ToIntFunction<Object> [] intGetters, ToLongFunction<Object> [] longGetters,
+            ToDoubleFunction<Object> [] doubleGetters, ObjIntConsumer<Object> [] intSetters, 
+            ObjLongConsumer<Object> [] longSetters, ObjDoubleConsumer<Object> [] doubleSetters) {
+        this.properties = properties;
+        this.getters = getters;
+        this.setters = setters;
+        this.intGetters = intGetters;
+        this.longGetters = longGetters;
+        this.doubleGetters = doubleGetters;
+        this.intSetters = intSetters;
+        this.longSetters = longSetters;
+        this.doubleSetters = doubleSetters;
+    }
+
+    @Override
+    public Object get(Object bean, int index) {
+        final Function<Object, Object> getter = getters[index];
+        if(getter == null) {
+            throw new IllegalArgumentException("Not readable: " + 
+                    properties.getProperty(index).getName() + " in class: " + properties.getType());
+        }
+        return getter.apply(bean);
+    }
+
+    @Override
+    public void set(Object bean, int index, Object value) {
+        final BiConsumer<Object, Object> setter = setters[index];
+        if(setter == null) {
+            throw new IllegalArgumentException("Not writable: " + 
+                    properties.getProperty(index).getName() + " in class: " + properties.getType());
+        }
+        setter.accept(bean, value);
+    }
+
+    @Override
+    public int getInt(Object bean, int index) {
+        final ToIntFunction<Object> getter = intGetters[index];
+        return getter == null ? BeanAccessor.super.getInt(bean, index) : getter.applyAsInt(bean);
+    }
+
+    @Override
+    public long getLong(Object bean, int index) {
+        final ToLongFunction<Object> getter = longGetters[index];
+        return getter == null ? BeanAccessor.super.getLong(bean, index) : getter.applyAsLong(bean);
+    }
+
+    @Override
+    public double getDouble(Object bean, int index) {
+        final ToDoubleFunction<Object> getter = doubleGetters[index];
+        return getter == null ? BeanAccessor.super.getDouble(bean, index) : getter.applyAsDouble(bean);
+    }
+
+    @Override
+    public void setInt(Object bean, int index, int value) {
+        final ObjIntConsumer<Object> setter = intSetters[index];
+        if(setter == null) {
+            BeanAccessor.super.setInt(bean, index, value);
+        }else{
+            setter.accept(bean, value);
+        }
+    }
+
+    @Override
+    public void setLong(Object bean, int index, long value) {
+        final ObjLongConsumer<Object> setter = longSetters[index];
+        if(setter == null) {
+            BeanAccessor.super.setLong(bean, index, value);
+        }else{
+            setter.accept(bean, value);
+        }
+    }
+
+    @Override
+    public void setDouble(Object bean, int index, double value) {
+        final ObjDoubleConsumer<Object> setter = doubleSetters[index];
+        if(setter == null) {
+            BeanAccessor.super.setDouble(bean, index, value);
+        }else{
+            setter.accept(bean, value);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection.accessor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a bean class for which a {@link BeanAccessor} is generated at compile
+ * time by {@link com.bc.reflection.processor.AccessorProcessor}. The generated 
+ * class is named as the binary name of the bean class, suffixed with 
+ * {@link #SUFFIX}, and is used by {@link GeneratedAccessorFactory}.
+ * @author Chinomso Bassey Ikwuagwu on Oct 23, 2018 10:12:06 AM
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface GenerateAccessor {
+    
+    /**
+     * The suffix of the name of generated accessor classes
+     */
+    String SUFFIX = "$$BeanAccessor";
+    
+    /**
+     * The name of the <code>public static final String[]</code> field of 
+     * generated accessor classes, holding the name of each property in the 
+     * order of the property indexes of the generated class
+     */
+    String PROPERTY_NAMES = "PROPERTY_NAMES";
+    
+    /**
+     * The name of the <code>public static final Class[]</code> field of 
+     * generated accessor classes, holding the erased type of each property 
+     * in the order of the property indexes of the generated class
+     */
+    String PROPERTY_TYPES = "PROPERTY_TYPES";
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection.accessor;
+
+import com.bc.reflection.ClassProperties;
+import com.bc.reflection.Property;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+/**
+ * Uses the accessors generated at compile time for classes annotated with
+ * {@link GenerateAccessor}. All other classes, and properties which the 
+ * generated accessor does not access, are accessed via a delegate.
+ * <p>
+ * The generated accessor is matched to the {@link com.bc.reflection.ClassProperties}
+ * of the class by property name, once per class. The delegate's accessor for
+ * an annotated class is created only if some property of the class is not 
+ * accessed by the generated accessor, or else on first use.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 23, 2018 11:40:31 AM
+ */
+public class GeneratedAccessorFactory extends AccessorFactory {
+
+    private static final Logger LOG = Logger.getLogger(GeneratedAccessorFactory.class.getName());
+    
+    private static final class MappedBeanAccessor extends GeneratedBeanAccessor {
+        
+        private final BeanAccessor generated;
+        
+        /**
+         * Property index to index of the generated accessor, or -1
+         */
+        private final int [] indexes;
+
+        private MappedBeanAccessor(BeanAccessor generated, int [] indexes, BeanAccessor fallback) {
+            super(fallback);
+            this.generated = generated;
+            this.indexes = indexes;
+        }
+
+        @Override
+        public Object get(Object bean, int index) {
+            final int i = indexes[index];
+            return i == -1 ? fallback.get(bean, index) : generated.get(bean, i);
+        }
+
+        @Override
+        public void set(Object bean, int index, Object value) {
+            final int i = indexes[index];
+            if(i == -1) {
+                fallback.set(bean, index, value);
+            }else{
+                generated.set(bean, i, value);
+            }
+        }
+
+        @Override
+        public int getInt(Object bean, int index) {
+            final int i = indexes[index];
+            return i == -1 ? fallback.getInt(bean, index) : generated.getInt(bean, i);
+        }
+
+        @Override
+        public long getLong(Object bean, int index) {
+            final int i = indexes[index];
+            return i == -1 ? fallback.getLong(bean, index) : generated.getLong(bean, i);
+        }
+
+        @Override
+        public double getDouble(Object bean, int index) {
+            final int i = indexes[index];
+            return i == -1 ? fallback.getDouble(bean, index) : generated.getDouble(bean, i);
+        }
+
+        @Override
+        public void setInt(Object bean, int index, int value) {
+            final int i = indexes[index];
+            if(i == -1) {
+                fallback.setInt(bean, index, value);
+            }else{
+                generated.setInt(bean, i, value);
+            }
+        }
+
+        @Override
+        public void setLong(Object bean, int index, long value) {
+            final int i = indexes[index];
+            if(i == -1) {
+                fallback.setLong(bean, index, value);
+            }else{
+                generated.setLong(bean, i, value);
+            }
+        }
+
+        @Override
+        public void setDouble(Object bean, int index, double value) {
+            final int i = indexes[index];
+            if(i == -1) {
+                fallback.setDouble(bean, index, value);
+            }else{
+                generated.setDouble(bean, i, value);
+            }
+        }
+    }
+    
+    private final AccessorFactory delegate;
+
+    /**
+     * @param delegate Accesses the classes for which no accessor was generated
+     */
+    public GeneratedAccessorFactory(AccessorFactory delegate) {
+        this.delegate = Objects.requireNonNull(delegate);
+    }
+
+    @Override
+    protected BeanAccessor newAccessor(ClassProperties properties) {
+        final Class<?> type = properties.getType();
+        if(!type.isAnnotationPresent(GenerateAccessor.class)) {
+            return delegate.getAccessor(type);
+        }
+        try{
+            final Class<?> generatedType = Class.forName(
+                    type.getName() + GenerateAccessor.SUFFIX, true, type.getClassLoader());
+            final BeanAccessor generated = (BeanAccessor)generatedType.getConstructor().newInstance();
+            final String [] names = (String[])generatedType.getField(GenerateAccessor.PROPERTY_NAMES).get(null);
+            final int [] indexes = new int[properties.size()];
+            Arrays.fill(indexes, -1);
+            for(int i=0; i<names.length; i++) {
+                final Property property = properties.getProperty(names[i]);
+                if(property != null) {
+                    indexes[property.getIndex()] = i;
+                }
+            }
+            // The delegate's accessor is costly to create, hence created 
+            // up front only if some property is not generated
+            final BeanAccessor fallback = IntStream.of(indexes).anyMatch((i) -> i == -1) ?
+                    delegate.getAccessor(type) : new LazyBeanAccessor(() -> delegate.getAccessor(type));
+            return new MappedBeanAccessor(generated, indexes, fallback);
+        }catch(ReflectiveOperationException | RuntimeException | LinkageError e) {
+            if(LOG.isLoggable(Level.FINE)) {
+                LOG.log(Level.FINE, "No generated accessor for: " + type, e);
+            }
+            return delegate.getAccessor(type);
+        }
+    }
+
+    @Override
+    protected Function<Object, Object> newGetter(Method getter) {
+        return delegate.newGetter(getter);
+    }
+
+    @Override
+    protected BiConsumer<Object, Object> newSetter(Method setter) {
+        return delegate.newSetter(setter);
+    }
+}
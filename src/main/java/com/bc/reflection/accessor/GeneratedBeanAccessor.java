@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection.accessor;
+
+import java.util.Objects;
+
+/**
+ * The superclass of generated {@link BeanAccessor}s. Properties which the
+ * generated class does not access directly are delegated to a fallback 
+ * accessor, as are the primitive getters and setters unless overridden.
+ * <p>
+ * This class is public only so that it may be extended by classes defined 
+ * in other class loaders.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 22, 2018 2:36:18 PM
+ */
+public abstract class GeneratedBeanAccessor implements BeanAccessor {
+
+    /**
+     * Accesses the properties which are not accessed directly
+     */
+    protected final BeanAccessor fallback;
+
+    protected GeneratedBeanAccessor(BeanAccessor fallback) {
+        this.fallback = Objects.requireNonNull(fallback);
+    }
+
+    @Override
+    public int getInt(Object bean, int index) {
+        return fallback.getInt(bean, index);
+    }
+
+    @Override
+    public long getLong(Object bean, int index) {
+        return fallback.getLong(bean, index);
+    }
+
+    @Override
+    public double getDouble(Object bean, int index) {
+        return fallback.getDouble(bean, index);
+    }
+
+    @Override
+    public void setInt(Object bean, int index, int value) {
+        fallback.setInt(bean, index, value);
+    }
+
+    @Override
+    public void setLong(Object bean, int index, long value) {
+        fallback.setLong(bean, index, value);
+    }
+
+    @Override
+    public void setDouble(Object bean, int index, double value) {
+        fallback.setDouble(bean, index, value);
+    }
+}
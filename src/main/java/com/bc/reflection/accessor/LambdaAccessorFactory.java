@@ -0,0 +1,211 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection.accessor;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Accesses getters and setters via {@link java.util.function.Function}s and
+ * {@link java.util.function.BiConsumer}s, and their primitive specializations,
+ * generated by the 
+ * {@link java.lang.invoke.LambdaMetafactory}. These perform close to a direct
+ * method call.
+ * <p>
+ * Only public, non-static methods of public classes visible to the class 
+ * loader of this class may be generated. All others are accessed as per 
+ * {@link MethodHandleAccessorFactory}.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2018 12:05:38 PM
+ */
+public class LambdaAccessorFactory extends MethodHandleAccessorFactory {
+
+    private static final Logger LOG = Logger.getLogger(LambdaAccessorFactory.class.getName());
+
+    public LambdaAccessorFactory() { }
+
+    @Override
+    protected Function<Object, Object> newGetter(Method getter) {
+        final Function<Object, Object> output = this.generate(
+                getter, Function.class, "apply", 
+                MethodType.methodType(Object.class, Object.class),
+                MethodType.methodType(Object.class, getter.getDeclaringClass()));
+        return output == null ? super.newGetter(getter) : output;
+    }
+
+    /**
+     * Values for primitive parameters are widened as per 
+     * {@link java.lang.reflect.Method#invoke(java.lang.Object, java.lang.Object...)},
+     * e.g an Integer may be set for a long parameter.
+     */
+    @Override
+    protected BiConsumer<Object, Object> newSetter(Method setter) {
+        final Class<?> type = setter.getParameterTypes()[0];
+        final Class<?> wrapper = wrap(type);
+        final BiConsumer<Object, Object> output = this.generate(
+                setter, BiConsumer.class, "accept", 
+                MethodType.methodType(void.class, Object.class, Object.class),
+                MethodType.methodType(void.class, setter.getDeclaringClass(), wrapper));
+        if(output == null) {
+            return super.newSetter(setter);
+        }
+        if(!type.isPrimitive() || type == boolean.class) {
+            return output;
+        }
+        return (bean, value) -> output.accept(bean, 
+                value == null || value.getClass() == wrapper ? value : Primitives.widen(value, type));
+    }
+
+    @Override
+    protected ToIntFunction<Object> newIntGetter(Method getter) {
+        final ToIntFunction<Object> output = this.generate(
+                getter, ToIntFunction.class, "applyAsInt", 
+                MethodType.methodType(int.class, Object.class),
+                MethodType.methodType(int.class, getter.getDeclaringClass()));
+        return output == null ? super.newIntGetter(getter) : output;
+    }
+
+    @Override
+    protected ToLongFunction<Object> newLongGetter(Method getter) {
+        final ToLongFunction<Object> output = this.generate(
+                getter, ToLongFunction.class, "applyAsLong", 
+                MethodType.methodType(long.class, Object.class),
+                MethodType.methodType(long.class, getter.getDeclaringClass()));
+        return output == null ? super.newLongGetter(getter) : output;
+    }
+
+    @Override
+    protected ToDoubleFunction<Object> newDoubleGetter(Method getter) {
+        final ToDoubleFunction<Object> output = this.generate(
+                getter, ToDoubleFunction.class, "applyAsDouble", 
+                MethodType.methodType(double.class, Object.class),
+                MethodType.methodType(double.class, getter.getDeclaringClass()));
+        return output == null ? super.newDoubleGetter(getter) : output;
+    }
+    
+    @Override
+    protected ObjIntConsumer<Object> newIntSetter(Method setter) {
+        final ObjIntConsumer<Object> output = setter.getParameterTypes()[0] != int.class ? null :
+                this.generate(
+                        setter, ObjIntConsumer.class, "accept", 
+                        MethodType.methodType(void.class, Object.class, int.class),
+                        MethodType.methodType(void.class, setter.getDeclaringClass(), int.class));
+        return output == null ? super.newIntSetter(setter) : output;
+    }
+
+    @Override
+    protected ObjLongConsumer<Object> newLongSetter(Method setter) {
+        final ObjLongConsumer<Object> output = setter.getParameterTypes()[0] != long.class ? null :
+                this.generate(
+                        setter, ObjLongConsumer.class, "accept", 
+                        MethodType.methodType(void.class, Object.class, long.class),
+                        MethodType.methodType(void.class, setter.getDeclaringClass(), long.class));
+        return output == null ? super.newLongSetter(setter) : output;
+    }
+
+    @Override
+    protected ObjDoubleConsumer<Object> newDoubleSetter(Method setter) {
+        final ObjDoubleConsumer<Object> output = setter.getParameterTypes()[0] != double.class ? null :
+                this.generate(
+                        setter, ObjDoubleConsumer.class, "accept", 
+                        MethodType.methodType(void.class, Object.class, double.class),
+                        MethodType.methodType(void.class, setter.getDeclaringClass(), double.class));
+        return output == null ? super.newDoubleSetter(setter) : output;
+    }
+    
+    /**
+     * @param method The method to implement the functional interface with
+     * @param functionalInterface The functional interface to implement
+     * @param methodName The name of the single abstract method of the functional interface 
+     * @param methodType The erased type of the single abstract method
+     * @param instantiatedMethodType The type of the single abstract method as
+     * specialized for the method
+     * @return An instance of the functional interface or null if it could not be generated
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> T generate(Method method, Class<? super T> functionalInterface, 
+            String methodName, MethodType methodType, MethodType instantiatedMethodType) {
+        if(!this.isGeneratable(method)) {
+            return null;
+        }
+        try{
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            final CallSite site = LambdaMetafactory.metafactory(lookup, methodName, 
+                    MethodType.methodType(functionalInterface), methodType, 
+                    lookup.unreflect(method), instantiatedMethodType);
+            return (T)site.getTarget().invoke();
+        }catch(Throwable t) {
+            if(LOG.isLoggable(Level.FINE)) {
+                LOG.log(Level.FINE, "Failed to generate accessor for: " + method, t);
+            }
+            return null;
+        }
+    }
+    
+    /**
+     * Methods which declare checked exceptions are not generatable, as generated
+     * functions would throw such exceptions as is, rather than wrapped.
+     * @param method The method to check
+     * @return true if the method may be implemented by a generated function
+     */
+    protected boolean isGeneratable(Method method) {
+        if(!Modifier.isPublic(method.getModifiers()) || Modifier.isStatic(method.getModifiers())) {
+            return false;
+        }
+        for(Class<?> exceptionType : method.getExceptionTypes()) {
+            if(!RuntimeException.class.isAssignableFrom(exceptionType) && 
+                    !Error.class.isAssignableFrom(exceptionType)) {
+                return false;
+            }
+        }
+        for(Class<?> type = method.getDeclaringClass(); type != null; type = type.getEnclosingClass()) {
+            if(!Modifier.isPublic(type.getModifiers())) {
+                return false;
+            }
+        }
+        return this.isVisible(method.getDeclaringClass());
+    }
+    
+    private boolean isVisible(Class<?> type) {
+        try{
+            return Class.forName(type.getName(), false, LambdaAccessorFactory.class.getClassLoader()) == type;
+        }catch(ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+    
+    static Class<?> wrap(Class<?> type) {
+        if(!type.isPrimitive()) {
+            return type;
+        }
+        return MethodType.methodType(type).wrap().returnType();
+    }
+}
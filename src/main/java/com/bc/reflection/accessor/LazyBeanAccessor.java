@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection.accessor;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A {@link BeanAccessor} which creates the accessor it delegates to on first
+ * use, so that fallback accessors which may never be called cost nothing 
+ * until they are.
+ * <p>
+ * Thread safe. The accessor is created at most once.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 25, 2018 10:14:52 AM
+ */
+final class LazyBeanAccessor implements BeanAccessor {
+    
+    private final Supplier<BeanAccessor> factory;
+    
+    private volatile BeanAccessor accessor;
+
+    LazyBeanAccessor(Supplier<BeanAccessor> factory) {
+        this.factory = Objects.requireNonNull(factory);
+    }
+    
+    private BeanAccessor accessor() {
+        BeanAccessor output = accessor;
+        if(output == null) {
+            synchronized(this) {
+                output = accessor;
+                if(output == null) {
+                    output = Objects.requireNonNull(factory.get());
+                    accessor = output;
+                }
+            }
+        }
+        return output;
+    }
+    
+    boolean isCreated() {
+        return accessor != null;
+    }
+
+    @Override
+    public Object get(Object bean, int index) {
+        return this.accessor().get(bean, index);
+    }
+
+    @Override
+    public void set(Object bean, int index, Object value) {
+        this.accessor().set(bean, index, value);
+    }
+
+    @Override
+    public int getInt(Object bean, int index) {
+        return this.accessor().getInt(bean, index);
+    }
+
+    @Override
+    public long getLong(Object bean, int index) {
+        return this.accessor().getLong(bean, index);
+    }
+
+    @Override
+    public double getDouble(Object bean, int index) {
+        return this.accessor().getDouble(bean, index);
+    }
+
+    @Override
+    public void setInt(Object bean, int index, int value) {
+        this.accessor().setInt(bean, index, value);
+    }
+
+    @Override
+    public void setLong(Object bean, int index, long value) {
+        this.accessor().setLong(bean, index, value);
+    }
+
+    @Override
+    public void setDouble(Object bean, int index, double value) {
+        this.accessor().setDouble(bean, index, value);
+    }
+}
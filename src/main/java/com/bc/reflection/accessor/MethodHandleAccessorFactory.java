@@ -0,0 +1,213 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection.accessor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Accesses getters and setters via {@link java.lang.invoke.MethodHandle}s, 
+ * each adapted once to a generic signature and invoked exactly.
+ * <p>
+ * Methods which can not be unreflected are accessed via reflection.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2018 11:46:51 AM
+ */
+public class MethodHandleAccessorFactory extends AccessorFactory {
+    
+    private static final Logger LOG = Logger.getLogger(MethodHandleAccessorFactory.class.getName());
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final MethodType INT_GETTER_TYPE = MethodType.methodType(int.class, Object.class);
+
+    private static final MethodType LONG_GETTER_TYPE = MethodType.methodType(long.class, Object.class);
+
+    private static final MethodType DOUBLE_GETTER_TYPE = MethodType.methodType(double.class, Object.class);
+
+    private static final MethodType INT_SETTER_TYPE = MethodType.methodType(void.class, Object.class, int.class);
+
+    private static final MethodType LONG_SETTER_TYPE = MethodType.methodType(void.class, Object.class, long.class);
+
+    private static final MethodType DOUBLE_SETTER_TYPE = MethodType.methodType(void.class, Object.class, double.class);
+    
+    private final AccessorFactory fallback;
+
+    public MethodHandleAccessorFactory() {
+        this.fallback = new ReflectionAccessorFactory();
+    }
+
+    @Override
+    protected Function<Object, Object> newGetter(Method getter) {
+        final MethodHandle handle = this.unreflect(getter, GETTER_TYPE);
+        if(handle == null) {
+            return fallback.newGetter(getter);
+        }
+        return (bean) -> {
+            try{
+                return (Object)handle.invokeExact(bean);
+            }catch(Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    @Override
+    protected BiConsumer<Object, Object> newSetter(Method setter) {
+        final MethodHandle handle = this.unreflect(setter, SETTER_TYPE);
+        if(handle == null) {
+            return fallback.newSetter(setter);
+        }
+        return (bean, value) -> {
+            try{
+                handle.invokeExact(bean, value);
+            }catch(Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    @Override
+    protected ToIntFunction<Object> newIntGetter(Method getter) {
+        final MethodHandle handle = this.unreflect(getter, INT_GETTER_TYPE);
+        if(handle == null) {
+            return null;
+        }
+        return (bean) -> {
+            try{
+                return (int)handle.invokeExact(bean);
+            }catch(Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    @Override
+    protected ToLongFunction<Object> newLongGetter(Method getter) {
+        final MethodHandle handle = this.unreflect(getter, LONG_GETTER_TYPE);
+        if(handle == null) {
+            return null;
+        }
+        return (bean) -> {
+            try{
+                return (long)handle.invokeExact(bean);
+            }catch(Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    @Override
+    protected ToDoubleFunction<Object> newDoubleGetter(Method getter) {
+        final MethodHandle handle = this.unreflect(getter, DOUBLE_GETTER_TYPE);
+        if(handle == null) {
+            return null;
+        }
+        return (bean) -> {
+            try{
+                return (double)handle.invokeExact(bean);
+            }catch(Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    @Override
+    protected ObjIntConsumer<Object> newIntSetter(Method setter) {
+        final MethodHandle handle = this.unreflect(setter, INT_SETTER_TYPE);
+        if(handle == null) {
+            return null;
+        }
+        return (bean, value) -> {
+            try{
+                handle.invokeExact(bean, value);
+            }catch(Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    @Override
+    protected ObjLongConsumer<Object> newLongSetter(Method setter) {
+        final MethodHandle handle = this.unreflect(setter, LONG_SETTER_TYPE);
+        if(handle == null) {
+            return null;
+        }
+        return (bean, value) -> {
+            try{
+                handle.invokeExact(bean, value);
+            }catch(Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    @Override
+    protected ObjDoubleConsumer<Object> newDoubleSetter(Method setter) {
+        final MethodHandle handle = this.unreflect(setter, DOUBLE_SETTER_TYPE);
+        if(handle == null) {
+            return null;
+        }
+        return (bean, value) -> {
+            try{
+                handle.invokeExact(bean, value);
+            }catch(Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    /**
+     * @param method The method to unreflect
+     * @param type The type to adapt the resulting handle to. The first
+     * parameter is the bean, which is dropped for static methods.
+     * @return A MethodHandle of the specified type or null if the method 
+     * could not be unreflected
+     */
+    protected MethodHandle unreflect(Method method, MethodType type) {
+        try{
+            if(!method.isAccessible()) {
+                method.setAccessible(true);
+            }
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if(Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asType(type);
+        }catch(IllegalAccessException | RuntimeException e) {
+            if(LOG.isLoggable(Level.FINE)) {
+                LOG.log(Level.FINE, "Will use reflection for: " + method, e);
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection.accessor;
+
+/**
+ * Converts boxed values to primitive types, applying the widening primitive
+ * conversions which {@link java.lang.reflect.Method#invoke(java.lang.Object, java.lang.Object...)}
+ * applies to arguments, e.g an Integer may be passed for a long or double 
+ * parameter.
+ * <p>
+ * This class is public only so that it may be called by generated accessors.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 24, 2018 9:47:12 AM
+ */
+public final class Primitives {
+    
+    private Primitives() { }
+    
+    /**
+     * @param value The value to convert
+     * @param type The primitive type to convert to
+     * @return The value widened to the wrapper of the specified primitive type, 
+     * or the value as is if it is null, is already of the wrapper type or may 
+     * not be widened to the type
+     */
+    public static Object widen(Object value, Class<?> type) {
+        if(value == null) {
+            return null;
+        }
+        final Class<?> from = unwrap(value.getClass());
+        if(from == null || from == type || !AccessorFactory.isWidenable(from, type)) {
+            return value;
+        }
+        final Number number = value instanceof Character ? 
+                Integer.valueOf((Character)value) : (Number)value;
+        if(type == long.class) {
+            return number.longValue();
+        }
+        if(type == double.class) {
+            return number.doubleValue();
+        }
+        if(type == float.class) {
+            return number.floatValue();
+        }
+        if(type == int.class) {
+            return number.intValue();
+        }
+        if(type == short.class) {
+            return number.shortValue();
+        }
+        return value;
+    }
+    
+    /**
+     * @param value The value to convert
+     * @return The value as an int
+     * @throws NullPointerException if the value is null
+     * @throws ClassCastException if the value may not be widened to an int
+     */
+    public static int toInt(Object value) {
+        return (Integer)widen(value, int.class);
+    }
+
+    /**
+     * @param value The value to convert
+     * @return The value as a long
+     * @see #toInt(java.lang.Object) 
+     */
+    public static long toLong(Object value) {
+        return (Long)widen(value, long.class);
+    }
+
+    /**
+     * @param value The value to convert
+     * @return The value as a double
+     * @see #toInt(java.lang.Object) 
+     */
+    public static double toDouble(Object value) {
+        return (Double)widen(value, double.class);
+    }
+
+    /**
+     * @param value The value to convert
+     * @return The value as a float
+     * @see #toInt(java.lang.Object) 
+     */
+    public static float toFloat(Object value) {
+        return (Float)widen(value, float.class);
+    }
+
+    /**
+     * @param value The value to convert
+     * @return The value as a short
+     * @see #toInt(java.lang.Object) 
+     */
+    public static short toShort(Object value) {
+        return (Short)widen(value, short.class);
+    }
+
+    /**
+     * @param value The value to convert
+     * @return The value as a byte
+     * @see #toInt(java.lang.Object) 
+     */
+    public static byte toByte(Object value) {
+        return (Byte)value;
+    }
+
+    /**
+     * @param value The value to convert
+     * @return The value as a char
+     * @see #toInt(java.lang.Object) 
+     */
+    public static char toChar(Object value) {
+        return (Character)value;
+    }
+
+    /**
+     * @param value The value to convert
+     * @return The value as a boolean
+     * @see #toInt(java.lang.Object) 
+     */
+    public static boolean toBoolean(Object value) {
+        return (Boolean)value;
+    }
+    
+    private static Class<?> unwrap(Class<?> type) {
+        if(type == Integer.class) return int.class;
+        if(type == Long.class) return long.class;
+        if(type == Double.class) return double.class;
+        if(type == Float.class) return float.class;
+        if(type == Short.class) return short.class;
+        if(type == Byte.class) return byte.class;
+        if(type == Character.class) return char.class;
+        return null;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection.accessor;
+
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Accesses getters and setters via {@link java.lang.reflect.Method#invoke(java.lang.Object, java.lang.Object...)}
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2018 11:40:22 AM
+ */
+public class ReflectionAccessorFactory extends AccessorFactory {
+
+    public ReflectionAccessorFactory() { }
+
+    @Override
+    protected Function<Object, Object> newGetter(Method getter) {
+        return (bean) -> {
+            try{
+                return getter.invoke(bean);
+            }catch(Exception e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    @Override
+    protected BiConsumer<Object, Object> newSetter(Method setter) {
+        return (bean, value) -> {
+            try{
+                setter.invoke(bean, value);
+            }catch(Exception e) {
+                throw rethrow(e);
+            }
+        };
+    }
+}
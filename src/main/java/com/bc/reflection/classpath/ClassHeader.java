@@ -0,0 +1,136 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bc.reflection.classpath;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The header of a class file: its access flags, super class, directly 
+ * implemented interfaces and class level annotations. All names are binary 
+ * names e.g <tt>java.util.Map$Entry</tt>
+ * <p>
+ * Testing a ClassHeader does not load the class it describes.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 19, 2018 2:32:19 PM
+ * @see ClassHeaderReader
+ */
+public final class ClassHeader {
+    
+    private static final int ACC_ANNOTATION = 0x2000;
+    
+    private static final int ACC_ENUM = 0x4000;
+    
+    private final int accessFlags;
+    
+    private final String name;
+    
+    private final String superName;
+    
+    private final List<String> interfaceNames;
+    
+    private final List<String> annotationNames;
+
+    ClassHeader(int accessFlags, String name, String superName, 
+            List<String> interfaceNames, List<String> annotationNames) {
+        this.accessFlags = accessFlags;
+        this.name = Objects.requireNonNull(name);
+        this.superName = superName;
+        this.interfaceNames = Collections.unmodifiableList(interfaceNames);
+        this.annotationNames = Collections.unmodifiableList(annotationNames);
+    }
+    
+    /**
+     * Both runtime visible and runtime invisible annotations are considered.
+     * @param annotationType The type of the annotation
+     * @return true if the class is directly annotated with the specified annotation type
+     */
+    public boolean hasAnnotation(Class<? extends Annotation> annotationType) {
+        return annotationNames.contains(annotationType.getName());
+    }
+
+    /**
+     * Only interfaces directly implemented by the class are considered.
+     * @param interfaceType The interface
+     * @return true if the class directly implements the specified interface
+     */
+    public boolean hasInterface(Class<?> interfaceType) {
+        return interfaceNames.contains(interfaceType.getName());
+    }
+
+    /**
+     * @param superClass The super class
+     * @return true if the specified class is the direct super class of the class
+     */
+    public boolean hasSuperClass(Class<?> superClass) {
+        return superClass.getName().equals(superName);
+    }
+    
+    public boolean isInterface() {
+        return Modifier.isInterface(accessFlags);
+    }
+
+    public boolean isAnnotation() {
+        return (accessFlags & ACC_ANNOTATION) != 0;
+    }
+
+    public boolean isEnum() {
+        return (accessFlags & ACC_ENUM) != 0;
+    }
+
+    public boolean isAbstract() {
+        return Modifier.isAbstract(accessFlags);
+    }
+
+    public boolean isPublic() {
+        return Modifier.isPublic(accessFlags);
+    }
+
+    /**
+     * @return The access flags of the class as found in the class file
+     */
+    public int getAccessFlags() {
+        return accessFlags;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The name of the super class or null for java.lang.Object and module-info
+     */
+    public String getSuperName() {
+        return superName;
+    }
+
+    public List<String> getInterfaceNames() {
+        return interfaceNames;
+    }
+
+    public List<String> getAnnotationNames() {
+        return annotationNames;
+    }
+
+    @Override
+    public String toString() {
+        return "ClassHeader{" + "name=" + name + ", superName=" + superName + 
+                ", interfaceNames=" + interfaceNames + ", annotationNames=" + annotationNames + '}';
+    }
+}
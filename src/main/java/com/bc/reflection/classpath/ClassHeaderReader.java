@@ -0,0 +1,210 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bc.reflection.classpath;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads the {@link ClassHeader} of a class file directly from its bytes.
+ * <p>
+ * Only the constant pool, the class header and the class level annotations
+ * are decoded. Fields and methods are skipped. No class loader is involved.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 19, 2018 2:51:06 PM
+ * @see https://docs.oracle.com/javase/specs/jvms/se8/html/jvms-4.html
+ */
+public class ClassHeaderReader {
+    
+    private static final int MAGIC = 0xCAFEBABE;
+    
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    public ClassHeaderReader() { }
+    
+    /**
+     * The stream is not closed by this method.
+     * @param in The stream of the class file's bytes
+     * @return The header of the class file
+     * @throws IOException if the stream could not be read or does not contain
+     * a valid class file
+     */
+    public ClassHeader read(InputStream in) throws IOException {
+        
+        final DataInputStream data = in instanceof DataInputStream ? 
+                (DataInputStream)in : new DataInputStream(in);
+        
+        if(data.readInt() != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        
+        data.readUnsignedShort(); // minor version
+        data.readUnsignedShort(); // major version
+
+        final int poolCount = data.readUnsignedShort();
+        final String [] utf8 = new String[poolCount];
+        final int [] classNameIndexes = new int[poolCount];
+        
+        for(int i=1; i<poolCount; i++) {
+            final int tag = data.readUnsignedByte();
+            switch(tag) {
+                case CONSTANT_UTF8: 
+                    utf8[i] = data.readUTF(); break;
+                case CONSTANT_CLASS:
+                    classNameIndexes[i] = data.readUnsignedShort(); break;
+                case CONSTANT_STRING: 
+                case CONSTANT_METHOD_TYPE: 
+                case CONSTANT_MODULE: 
+                case CONSTANT_PACKAGE:
+                    skip(data, 2); break;
+                case CONSTANT_METHOD_HANDLE:
+                    skip(data, 3); break;
+                case CONSTANT_INTEGER: 
+                case CONSTANT_FLOAT: 
+                case CONSTANT_FIELDREF: 
+                case CONSTANT_METHODREF: 
+                case CONSTANT_INTERFACE_METHODREF: 
+                case CONSTANT_NAME_AND_TYPE: 
+                case CONSTANT_DYNAMIC: 
+                case CONSTANT_INVOKE_DYNAMIC:
+                    skip(data, 4); break;
+                case CONSTANT_LONG: 
+                case CONSTANT_DOUBLE:
+                    skip(data, 8); 
+                    ++i; // takes two entries
+                    break;
+                default:
+                    throw new IOException("Unexpected constant pool tag: " + tag + " at index: " + i);
+            }
+        }
+        
+        final int accessFlags = data.readUnsignedShort();
+        final String name = className(utf8, classNameIndexes, data.readUnsignedShort());
+        final String superName = className(utf8, classNameIndexes, data.readUnsignedShort());
+        
+        final int interfaceCount = data.readUnsignedShort();
+        final List<String> interfaceNames = interfaceCount == 0 ? 
+                Collections.emptyList() : new ArrayList<>(interfaceCount);
+        for(int i=0; i<interfaceCount; i++) {
+            interfaceNames.add(className(utf8, classNameIndexes, data.readUnsignedShort()));
+        }
+        
+        skipMembers(data); // fields
+        skipMembers(data); // methods
+        
+        List<String> annotationNames = Collections.emptyList();
+        
+        final int attributeCount = data.readUnsignedShort();
+        for(int i=0; i<attributeCount; i++) {
+            final String attributeName = utf8[data.readUnsignedShort()];
+            final int length = data.readInt();
+            if("RuntimeVisibleAnnotations".equals(attributeName) || 
+                    "RuntimeInvisibleAnnotations".equals(attributeName)) {
+                if(annotationNames.isEmpty()) {
+                    annotationNames = new ArrayList<>();
+                }
+                final int annotationCount = data.readUnsignedShort();
+                for(int j=0; j<annotationCount; j++) {
+                    annotationNames.add(this.readAnnotation(data, utf8));
+                }
+            }else{
+                skip(data, length);
+            }
+        }
+        
+        return new ClassHeader(accessFlags, name, superName, interfaceNames, annotationNames);
+    }
+    
+    /**
+     * @return The binary name of the annotation's type
+     */
+    private String readAnnotation(DataInputStream data, String [] utf8) throws IOException {
+        final String descriptor = utf8[data.readUnsignedShort()];
+        final int pairCount = data.readUnsignedShort();
+        for(int i=0; i<pairCount; i++) {
+            skip(data, 2); // element name
+            this.skipElementValue(data, utf8);
+        }
+        // Descriptor format: Lcom/foo/Bar;
+        return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+    }
+    
+    private void skipElementValue(DataInputStream data, String [] utf8) throws IOException {
+        final int tag = data.readUnsignedByte();
+        switch(tag) {
+            case 'e': 
+                skip(data, 4); break;
+            case '@':
+                this.readAnnotation(data, utf8); break;
+            case '[':
+                final int count = data.readUnsignedShort();
+                for(int i=0; i<count; i++) {
+                    this.skipElementValue(data, utf8);
+                }
+                break;
+            default: // B C D F I J S Z s c
+                skip(data, 2);
+        }
+    }
+    
+    private static void skipMembers(DataInputStream data) throws IOException {
+        final int count = data.readUnsignedShort();
+        for(int i=0; i<count; i++) {
+            skip(data, 6); // access flags, name, descriptor
+            final int attributeCount = data.readUnsignedShort();
+            for(int j=0; j<attributeCount; j++) {
+                skip(data, 2);
+                skip(data, data.readInt());
+            }
+        }
+    }
+    
+    private static String className(String [] utf8, int [] classNameIndexes, int index) {
+        return index == 0 ? null : utf8[classNameIndexes[index]].replace('/', '.');
+    }
+    
+    private static void skip(DataInputStream data, int count) throws IOException {
+        while(count > 0) {
+            final int skipped = data.skipBytes(count);
+            if(skipped <= 0) {
+                data.readByte(); // Throws EOFException at end of stream
+                --count;
+            }else{
+                count -= skipped;
+            }
+        }
+    }
+}
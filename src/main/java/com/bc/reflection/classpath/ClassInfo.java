@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bc.reflection.classpath;
+
+import java.net.URL;
+import java.util.Objects;
+
+/**
+ * Describes a class found on the class path, without loading the class.
+ * @author Chinomso Bassey Ikwuagwu on Oct 19, 2018 1:10:38 PM
+ */
+public final class ClassInfo {
+    
+    private final String name;
+    
+    private final URL location;
+    
+    private final ClassLoader classLoader;
+
+    /**
+     * @param name The binary name of the class
+     * @param location The class path root (jar file or directory) containing the class
+     * @param classLoader The class loader to load the class with
+     */
+    public ClassInfo(String name, URL location, ClassLoader classLoader) {
+        this.name = Objects.requireNonNull(name);
+        this.location = Objects.requireNonNull(location);
+        this.classLoader = classLoader;
+    }
+    
+    /**
+     * Loads the class without initializing it.
+     * @return The class described by this ClassInfo
+     * @throws ClassNotFoundException if the class could not be loaded by 
+     * the class loader of this ClassInfo
+     * @see java.lang.Class#forName(java.lang.String, boolean, java.lang.ClassLoader) 
+     */
+    public Class<?> load() throws ClassNotFoundException {
+        return Class.forName(name, false, classLoader);
+    }
+
+    /**
+     * @return The binary name of the class e.g <tt>com.bc.Foo$Bar</tt>
+     */
+    public String getName() {
+        return name;
+    }
+    
+    public String getPackageName() {
+        final int n = name.lastIndexOf('.');
+        return n == -1 ? "" : name.substring(0, n);
+    }
+
+    /**
+     * @return The class path root (jar file or directory) containing the class
+     */
+    public URL getLocation() {
+        return location;
+    }
+
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * name.hashCode() + location.toString().hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final ClassInfo other = (ClassInfo) obj;
+        return name.equals(other.name) && location.toString().equals(other.location.toString());
+    }
+
+    @Override
+    public String toString() {
+        return "ClassInfo{" + "name=" + name + ", location=" + location + '}';
+    }
+}
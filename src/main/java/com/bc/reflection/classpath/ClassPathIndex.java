@@ -0,0 +1,785 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bc.reflection.classpath;
+
+import java.io.File;
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLDecoder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An index of the classes in each class path root (jar file or directory).
+ * <p>
+ * Each root is scanned once, the first time a package within it is queried,
+ * into a package trie. Subsequent queries take time proportional to the 
+ * size of the result. Only the named package and its sub-packages are 
+ * matched.
+ * </p>
+ * <p>
+ * Roots containing a {@link #CLASS_INDEX_RESOURCE}, as generated at compile 
+ * time by {@link com.bc.reflection.processor.ClassIndexProcessor}, are read 
+ * from that index instead of being scanned. For directories, only the listed
+ * classes whose class files exist are kept.
+ * </p>
+ * <p>
+ * Anonymous and local classes, whose binary names have a digit following a
+ * <tt>$</tt> e.g <tt>com.bc.Foo$1</tt>, are excluded whether a root is 
+ * scanned or read from its index, as the index lists only top level and 
+ * member classes.
+ * </p>
+ * Thread safe.
+ * @author Chinomso Bassey Ikwuagwu on Oct 19, 2018 9:40:52 AM
+ */
+public class ClassPathIndex {
+
+    private static final Logger LOG = Logger.getLogger(ClassPathIndex.class.getName());
+    
+    /**
+     * A resource listing the binary names of the classes in a class path root,
+     * one per line. Class path roots containing this resource are not scanned.
+     * @see com.bc.reflection.processor.ClassIndexProcessor
+     */
+    public static final String CLASS_INDEX_RESOURCE = "META-INF/bcreflection/class-index";
+    
+    private static final class SharedInstanceHolder {
+        private static final ClassPathIndex INSTANCE = new ClassPathIndex();
+    }
+    
+    /**
+     * @return The ClassPathIndex shared by default by all instances of
+     * {@link com.bc.reflection.function.FindClassesInPackage}
+     */
+    public static ClassPathIndex getShared() {
+        return SharedInstanceHolder.INSTANCE;
+    }
+    
+    /**
+     * An indexed class path root
+     */
+    private static final class Root {
+        
+        private final URL location;
+        
+        private final boolean jar;
+        
+        private final PackageTrie classNames;
+        
+        /**
+         * For local jar files, the fingerprint with which the root may be 
+         * persisted. Otherwise null.
+         */
+        private final long [] fingerprint;
+
+        private Root(URL location, boolean jar, PackageTrie classNames) {
+            this(location, jar, classNames, null);
+        }
+        
+        private Root(URL location, boolean jar, PackageTrie classNames, long [] fingerprint) {
+            this.location = location;
+            this.jar = jar;
+            this.classNames = classNames;
+            this.fingerprint = fingerprint;
+        }
+    }
+    
+    @FunctionalInterface
+    private interface ClassFileOpener extends Closeable {
+        /**
+         * @param path The path of the class file relative to its class path root
+         * @return A stream of the class file bytes or null if the class file doesn't exist
+         */
+        InputStream open(String path) throws IOException;
+        
+        /**
+         * Releases the resources, if any, from which class files are opened
+         */
+        @Override
+        default void close() throws IOException { }
+    }
+    
+    /**
+     * Yields the classes of one class path root after another, indexing 
+     * each root only when it is reached. When filtering, the class files 
+     * of at most one root are open at any time.
+     */
+    private final class ClassInfoSpliterator extends Spliterators.AbstractSpliterator<ClassInfo> {
+        
+        private final Iterator<URL> urls;
+        
+        private final String packageName;
+        
+        private final ClassLoader classLoader;
+        
+        private final Predicate<? super ClassHeader> filter;
+        
+        private final ClassHeaderReader reader = new ClassHeaderReader();
+        
+        private Root root;
+        
+        private Iterator<String> classNames = Collections.emptyIterator();
+        
+        private ClassFileOpener opener;
+
+        private ClassInfoSpliterator(List<URL> urls, String packageName, 
+                ClassLoader classLoader, Predicate<? super ClassHeader> filter) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+            this.urls = urls.iterator();
+            this.packageName = packageName;
+            this.classLoader = classLoader;
+            this.filter = filter;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super ClassInfo> action) {
+            try{
+                while(true) {
+                    while(classNames.hasNext()) {
+                        final String className = classNames.next();
+                        if(filter == null || accept(root, className, reader, filter, opener)) {
+                            action.accept(new ClassInfo(className, root.location, classLoader));
+                            return true;
+                        }
+                    }
+                    this.close();
+                    if(!urls.hasNext()) {
+                        return false;
+                    }
+                    root = getRoot(urls.next(), packageName);
+                    final List<String> names = new ArrayList<>();
+                    root.classNames.collect(packageName, names);
+                    classNames = names.iterator();
+                    if(filter != null && !names.isEmpty()) {
+                        opener = openClassFiles(root);
+                    }
+                }
+            }catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        
+        private void close() throws IOException {
+            if(opener != null) {
+                try{
+                    opener.close();
+                }finally{
+                    opener = null;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Lists the class names in a directory, forking one task per sub-directory
+     */
+    private static final class ScanDirectoryTask extends RecursiveTask<List<String>> {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final File directory;
+        
+        private final String prefix;
+
+        private ScanDirectoryTask(File directory, String prefix) {
+            this.directory = directory;
+            this.prefix = prefix;
+        }
+
+        @Override
+        protected List<String> compute() {
+            final String [] files = directory.list();
+            if(files == null) {
+                return Collections.emptyList();
+            }
+            final List<String> output = new ArrayList<>();
+            final List<ScanDirectoryTask> subTasks = new ArrayList<>();
+            for (final String file : files) {
+                if (file.endsWith(".class")) {
+                    final String name = file.substring(0, file.length() - 6);
+                    if(isClassName(name)) {
+                        output.add(prefix + name);
+                    }
+                } else {
+                    final File subDirectory = new File(directory, file);
+                    if(subDirectory.isDirectory()) {
+                        subTasks.add(new ScanDirectoryTask(subDirectory, prefix + file + '.'));
+                    }
+                }
+            }
+            // Results are joined in a fixed order
+            for(ScanDirectoryTask subTask : invokeAll(subTasks)) {
+                output.addAll(subTask.join());
+            }
+            return output;
+        }
+    }
+    
+    private final ConcurrentMap<String, Root> roots = new ConcurrentHashMap<>();
+    
+    private final ForkJoinPool pool;
+    
+    private final Path indexFile;
+    
+    /**
+     * Jar roots read from the index file, keyed by location
+     */
+    private final Map<String, ClassPathIndexFile.Entry> persisted;
+
+    public ClassPathIndex() { 
+        this(null);
+    }
+    
+    /**
+     * @param pool The pool over which to scan class path roots and 
+     * directories in parallel. May be null, in which case scanning is sequential.
+     */
+    public ClassPathIndex(ForkJoinPool pool) { 
+        this(pool, null);
+    }
+    
+    /**
+     * The classes of local jar files are read from the index file, if it 
+     * exists, unless the size, last modified time or content hash of the jar 
+     * has changed, in which case the jar is scanned again. Call 
+     * {@link #save()} to write the index file. Directory roots are always 
+     * scanned.
+     * @param pool The pool over which to scan class path roots and 
+     * directories in parallel. May be null, in which case scanning is sequential.
+     * @param indexFile The file in which to persist the index. May be null.
+     */
+    public ClassPathIndex(ForkJoinPool pool, Path indexFile) { 
+        this.pool = pool;
+        this.indexFile = indexFile;
+        Map<String, ClassPathIndexFile.Entry> entries = Collections.emptyMap();
+        if(indexFile != null && Files.isRegularFile(indexFile)) {
+            try{
+                entries = ClassPathIndexFile.read(indexFile);
+            }catch(IOException e) {
+                LOG.log(Level.WARNING, "Failed to read class path index file: " + indexFile, e);
+            }
+        }
+        this.persisted = entries;
+    }
+    
+    /**
+     * Writes the local jar roots indexed so far to the index file. Entries 
+     * previously read from the index file are retained if their jar still 
+     * exists.
+     * @throws IOException if the index file could not be written
+     * @throws IllegalStateException if this index has no index file
+     */
+    public void save() throws IOException {
+        if(indexFile == null) {
+            throw new IllegalStateException("No index file specified");
+        }
+        final Map<String, ClassPathIndexFile.Entry> entries = new TreeMap<>();
+        for(ClassPathIndexFile.Entry entry : persisted.values()) {
+            final File file = toFile(new URL(entry.location));
+            if(file.isFile()) {
+                entries.put(entry.location, entry);
+            }
+        }
+        for(Map.Entry<String, Root> entry : roots.entrySet()) {
+            final Root root = entry.getValue();
+            if(root.fingerprint != null) {
+                entries.put(entry.getKey(), new ClassPathIndexFile.Entry(entry.getKey(),
+                        root.fingerprint[0], root.fingerprint[1], root.fingerprint[2], 
+                        root.classNames.getClassNames()));
+            }
+        }
+        ClassPathIndexFile.write(indexFile, entries.values());
+        if(LOG.isLoggable(Level.FINE)) {
+            LOG.log(Level.FINE, "Saved {0} jar roots to: {1}", new Object[]{entries.size(), indexFile});
+        }
+    }
+    
+    /**
+     * Scans the class path roots of the URLs which are not yet indexed. If 
+     * this index has a {@link java.util.concurrent.ForkJoinPool} the roots
+     * are scanned in parallel.
+     * @param urls The URLs of the package, as returned by {@link java.lang.ClassLoader#getResources(java.lang.String)}
+     * @param packageName The name of the package
+     * @throws IOException If any of the URLs is neither a jar nor a directory 
+     * URL, or if it can't be read.
+     */
+    public void index(List<URL> urls, String packageName) throws IOException {
+        if(pool == null || urls.size() < 2) {
+            for(URL url : urls) {
+                this.getRoot(url, packageName);
+            }
+            return;
+        }
+        final List<ForkJoinTask<Root>> tasks = new ArrayList<>(urls.size());
+        for(URL url : urls) {
+            tasks.add(pool.submit(() -> this.getRoot(url, packageName)));
+        }
+        for(ForkJoinTask<Root> task : tasks) {
+            try{
+                task.get();
+            }catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while indexing package: " + packageName);
+            }catch(ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if(cause instanceof IOException) {
+                    throw (IOException)cause;
+                }else if(cause instanceof RuntimeException) {
+                    throw (RuntimeException)cause;
+                }else if(cause instanceof Error) {
+                    throw (Error)cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+    }
+    
+    /**
+     * @param url The URL of the package, as returned by {@link java.lang.ClassLoader#getResources(java.lang.String)}
+     * @param packageName The name of the package
+     * @return The names of the classes in the package and its sub-packages, 
+     * within the class path root of the URL.
+     * @throws IOException If the URL is neither a jar nor a directory URL, 
+     * or if it can't be read.
+     */
+    public List<String> getClassNames(URL url, String packageName) throws IOException {
+        final List<String> output = new ArrayList<>();
+        this.getRoot(url, packageName).classNames.collect(packageName, output);
+        return output;
+    }
+    
+    /**
+     * No class is loaded by this method.
+     * @param url The URL of the package, as returned by {@link java.lang.ClassLoader#getResources(java.lang.String)}
+     * @param packageName The name of the package
+     * @param classLoader The class loader with which to load the described classes
+     * @return Descriptors of the classes in the package and its sub-packages, 
+     * within the class path root of the URL.
+     * @throws IOException If the URL is neither a jar nor a directory URL, 
+     * or if it can't be read.
+     * @see #getClassNames(java.net.URL, java.lang.String) 
+     */
+    public List<ClassInfo> getClassInfos(URL url, String packageName, ClassLoader classLoader) throws IOException {
+        final Root root = this.getRoot(url, packageName);
+        final List<String> classNames = new ArrayList<>();
+        root.classNames.collect(packageName, classNames);
+        final List<ClassInfo> output = new ArrayList<>(classNames.size());
+        for(String className : classNames) {
+            output.add(new ClassInfo(className, root.location, classLoader));
+        }
+        return output;
+    }
+    
+    /**
+     * Only classes whose header is accepted by the filter are returned. The
+     * headers are read directly from the class files, hence no class is 
+     * loaded by this method. Classes whose header could not be read are 
+     * excluded.
+     * @param url The URL of the package, as returned by {@link java.lang.ClassLoader#getResources(java.lang.String)}
+     * @param packageName The name of the package
+     * @param classLoader The class loader with which to load the described classes
+     * @param filter The filter to test each class header with
+     * @return Descriptors of the accepted classes in the package and its 
+     * sub-packages, within the class path root of the URL.
+     * @throws IOException If the URL is neither a jar nor a directory URL, 
+     * or if it can't be read.
+     * @see #getClassInfos(java.net.URL, java.lang.String, java.lang.ClassLoader) 
+     */
+    public List<ClassInfo> getClassInfos(URL url, String packageName, 
+            ClassLoader classLoader, Predicate<? super ClassHeader> filter) throws IOException {
+        
+        final Root root = this.getRoot(url, packageName);
+        final List<String> classNames = new ArrayList<>();
+        root.classNames.collect(packageName, classNames);
+        final List<ClassInfo> output = new ArrayList<>();
+        
+        try(ClassFileOpener opener = openClassFiles(root)) {
+            final ClassHeaderReader reader = new ClassHeaderReader();
+            for(String className : classNames) {
+                if(accept(root, className, reader, filter, opener)) {
+                    output.add(new ClassInfo(className, root.location, classLoader));
+                }
+            }
+        }
+        
+        return output;
+    }
+    
+    /**
+     * Classes are yielded as they are found, hence a short-circuiting 
+     * operation on the returned stream stops the scan. Each class path root
+     * is indexed when it is first reached rather than up front. The stream
+     * should be closed, e.g by a try-with-resources statement, to release the
+     * class files being filtered when the stream is not fully consumed.
+     * @param urls The URLs of the package, as returned by {@link java.lang.ClassLoader#getResources(java.lang.String)}
+     * @param packageName The name of the package
+     * @param classLoader The class loader with which to load the described classes
+     * @param filter The filter to test each class header with. May be null, 
+     * in which case all classes are accepted and no class file is read.
+     * @return A sequential stream of descriptors of the accepted classes in 
+     * the package and its sub-packages, within the class path roots of the URLs.
+     * @throws java.io.UncheckedIOException from the stream's terminal operation, 
+     * if any of the URLs is neither a jar nor a directory URL, or if it can't be read.
+     * @see #getClassInfos(java.net.URL, java.lang.String, java.lang.ClassLoader, java.util.function.Predicate) 
+     */
+    public Stream<ClassInfo> stream(List<URL> urls, String packageName, 
+            ClassLoader classLoader, Predicate<? super ClassHeader> filter) {
+        
+        final ClassInfoSpliterator spliterator = new ClassInfoSpliterator(
+                new ArrayList<>(urls), packageName, classLoader, filter);
+        
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try{
+                spliterator.close();
+            }catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+    
+    private ClassFileOpener openClassFiles(Root root) throws IOException {
+        if(!root.jar) {
+            final File directory = toFile(root.location);
+            return (path) -> {
+                final File file = new File(directory, path);
+                return file.isFile() ? new FileInputStream(file) : null;
+            };
+        }else if("file".equals(root.location.getProtocol())) {
+            final JarFile jarFile = new JarFile(toFile(root.location));
+            return new ClassFileOpener() {
+                @Override
+                public InputStream open(String path) throws IOException {
+                    final JarEntry entry = jarFile.getJarEntry(path);
+                    return entry == null ? null : jarFile.getInputStream(entry);
+                }
+                @Override
+                public void close() throws IOException {
+                    jarFile.close();
+                }
+            };
+        }else{
+            return (path) -> {
+                final URLConnection connection = new URL("jar:" + root.location + "!/" + path).openConnection();
+                connection.setUseCaches(false);
+                return connection.getInputStream();
+            };
+        }
+    }
+    
+    /**
+     * @return true if the class file of the named class exists and its 
+     * header is accepted by the filter. Class files which could not be 
+     * read are logged and not accepted.
+     */
+    private static boolean accept(Root root, String className, ClassHeaderReader reader,
+            Predicate<? super ClassHeader> filter, ClassFileOpener opener) {
+        final String path = className.replace('.', '/') + ".class";
+        try(InputStream in = opener.open(path)) {
+            return in != null && filter.test(reader.read(new BufferedInputStream(in)));
+        }catch(IOException e) {
+            LOG.log(Level.WARNING, "Failed to read class file: " + path + " in: " + root.location, e);
+            return false;
+        }
+    }
+    
+    /**
+     * Discard all indexed roots, so that they are scanned again when next queried.
+     */
+    public void clear() {
+        roots.clear();
+    }
+    
+    private Root getRoot(URL url, String packageName) throws IOException {
+
+        final URLConnection connection = url.openConnection();
+
+        if (connection instanceof JarURLConnection) {
+            
+            final JarURLConnection jarConnection = (JarURLConnection)connection;
+
+            final URL location = jarConnection.getJarFileURL();
+            
+            final String key = location.toString();
+            
+            Root root = roots.get(key);
+            
+            if(root == null) {
+                if("file".equals(location.getProtocol())) {
+                    root = this.putIfAbsent(key, this.scanJarFile(key, location, toFile(location)));
+                }else{
+                    root = this.putIfAbsent(key, new Root(location, true, scanJarFile(jarConnection.getJarFile())));
+                }
+            }
+            
+            return root;
+
+        } else if ("file".equals(url.getProtocol())) {
+            
+            final File directory = getRootDirectory(toFile(url), packageName);
+
+            final String key = directory.getPath();
+            
+            Root root = roots.get(key);
+            
+            if(root == null) {
+                final PackageTrie trie = new PackageTrie();
+                final File classIndex = new File(directory, CLASS_INDEX_RESOURCE);
+                if(classIndex.isFile()) {
+                    // Directories change between builds, only listed classes which exist are kept
+                    try(InputStream in = new FileInputStream(classIndex)) {
+                        readClassIndex(in, (className) -> {
+                            if(new File(directory, className.replace('.', '/') + ".class").isFile()) {
+                                trie.add(className);
+                            }
+                        });
+                    }
+                }else if(pool == null) {
+                    this.scanDirectory(directory, "", trie);
+                }else{
+                    final ScanDirectoryTask task = new ScanDirectoryTask(directory, "");
+                    final List<String> classNames = ForkJoinTask.inForkJoinPool() ? 
+                            task.invoke() : pool.invoke(task);
+                    for(String className : classNames) {
+                        trie.add(className);
+                    }
+                }
+                root = this.putIfAbsent(key, new Root(directory.toURI().toURL(), false, trie.sort()));
+            }
+            
+            return root;
+            
+        } else {
+            throw new IOException(packageName + " ("
+                    + url.getPath()
+                    + ") does not appear to be a valid package");
+        }
+    }
+    
+    private Root putIfAbsent(String key, Root root) {
+        final Root existing = roots.putIfAbsent(key, root);
+        if(existing != null) {
+            return existing;
+        }
+        if(LOG.isLoggable(Level.FINE)) {
+            LOG.log(Level.FINE, "Indexed {0} classes in: {1}", new Object[]{root.classNames.size(), key});
+        }
+        return root;
+    }
+    
+    /**
+     * @param directory The directory of the package
+     * @param packageName The name of the package
+     * @return The class path root directory containing the package directory
+     */
+    static File getRootDirectory(File directory, String packageName) {
+        if(packageName.isEmpty()) {
+            return directory;
+        }
+        // One parent directory per package name segment
+        File root = directory;
+        int from = 0;
+        do{
+            root = root.getParentFile();
+            from = packageName.indexOf('.', from) + 1;
+        }while(from != 0 && root != null);
+        return root == null ? directory : root;
+    }
+    
+    /**
+     * @param directory The directory to scan
+     * @param prefix The package prefix for classes in the directory. Either 
+     * empty or ending with a dot.
+     * @param trie The trie to add classes found to
+     */
+    private void scanDirectory(File directory, String prefix, PackageTrie trie) {
+
+        final String[] files = directory.list();
+        
+        if(files == null) {
+            return;
+        }
+
+        for (final String file : files) {
+            if (file.endsWith(".class")) {
+                final String name = file.substring(0, file.length() - 6);
+                if(isClassName(name)) {
+                    trie.add(prefix + name);
+                }
+            } else {
+                final File subDirectory = new File(directory, file);
+                if(subDirectory.isDirectory()) {
+                    scanDirectory(subDirectory, prefix + file + '.', trie);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Only the central directory of the jar file is read, via a 
+     * {@link java.nio.channels.FileChannel} which is closed before this 
+     * method returns. No {@link java.util.jar.JarFile} is opened or cached.
+     * For jars in the index file whose size and last modified time are 
+     * unchanged, only the end of the file is read, to compare its hash.
+     */
+    private Root scanJarFile(String key, URL location, File file) throws IOException {
+        final long size = file.length();
+        final long lastModified = file.lastModified();
+        ClassPathIndexFile.Entry entry = persisted.get(key);
+        if(entry != null && (entry.size != size || entry.lastModified != lastModified)) {
+            entry = null;
+        }
+        try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final ZipCentralDirectory directory = ZipCentralDirectory.locate(channel);
+            final long hash = directory.hash();
+            final long [] fingerprint = {size, lastModified, hash};
+            if(entry != null && entry.matches(size, lastModified, hash)) {
+                final PackageTrie trie = new PackageTrie();
+                for(String className : entry.classNames) {
+                    trie.add(className);
+                }
+                return new Root(location, true, trie, fingerprint);
+            }
+            return new Root(location, true, scanJarFile(channel, directory.load(channel)), fingerprint);
+        }
+    }
+    
+    private PackageTrie scanJarFile(FileChannel channel, ZipCentralDirectory directory) throws IOException {
+        final PackageTrie trie = new PackageTrie();
+        try(InputStream in = directory.getInputStream(channel, CLASS_INDEX_RESOURCE)) {
+            if(in != null) {
+                readClassIndex(in, trie::add);
+                return trie.sort();
+            }
+        }
+        directory.forEachEntryName((entryName) -> {
+            final String className = toClassName(entryName);
+            if(className != null) {
+                trie.add(className);
+            }
+        });
+        return trie.sort();
+    }
+    
+    /**
+     * @param fileUrl A <tt>file:</tt> URL
+     * @return The file of the URL. Unlike {@link java.net.URLDecoder}, a 
+     * <tt>+</tt> in the path is not taken for a space.
+     */
+    static File toFile(URL fileUrl) throws IOException {
+        try{
+            return new File(fileUrl.toURI());
+        }catch(URISyntaxException | IllegalArgumentException e) {
+            // e.g unescaped spaces or a host, only %xx escapes are decoded
+            return new File(URLDecoder.decode(fileUrl.getPath().replace("+", "%2B"), "UTF-8"));
+        }
+    }
+    
+    private PackageTrie scanJarFile(JarFile jarFile) throws IOException {
+        final PackageTrie trie = new PackageTrie();
+        final JarEntry classIndex = jarFile.getJarEntry(CLASS_INDEX_RESOURCE);
+        if(classIndex != null) {
+            try(InputStream in = jarFile.getInputStream(classIndex)) {
+                readClassIndex(in, trie::add);
+            }
+            return trie.sort();
+        }
+        final Enumeration<JarEntry> entries = jarFile.entries();
+        while(entries.hasMoreElements()) {
+            final String className = toClassName(entries.nextElement().getName());
+            if(className != null) {
+                trie.add(className);
+            }
+        }
+        return trie.sort();
+    }
+    
+    /**
+     * @param in The stream of a {@link #CLASS_INDEX_RESOURCE}
+     * @param action The action to apply to each class listed in the index
+     */
+    private static void readClassIndex(InputStream in, Consumer<String> action) throws IOException {
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        for(String line; (line = reader.readLine()) != null; ) {
+            line = line.trim();
+            if(!line.isEmpty()) {
+                action.accept(line);
+            }
+        }
+    }
+    
+    /**
+     * @param entryName The name of a jar entry e.g <tt>com/bc/Foo.class</tt>
+     * @return The binary name of the class the entry represents e.g 
+     * <tt>com.bc.Foo</tt> or null if the entry does not represent a class.
+     */
+    static String toClassName(String entryName) {
+        if(!entryName.endsWith(".class") || entryName.startsWith("META-INF/")) {
+            return null;
+        }
+        final String name = entryName.substring(0, entryName.length() - 6).replace('/', '.');
+        return isClassName(name) ? name : null;
+    }
+    
+    private static boolean isClassName(String name) {
+        if(name.endsWith("package-info") || name.endsWith("module-info")) {
+            return false;
+        }
+        // Anonymous and local classes e.g Foo$1 and Foo$1Local
+        for(int i = name.indexOf('$'); i != -1 && i < name.length() - 1; i = name.indexOf('$', i + 1)) {
+            if(Character.isDigit(name.charAt(i + 1))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
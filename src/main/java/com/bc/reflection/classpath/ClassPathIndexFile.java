@@ -0,0 +1,151 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bc.reflection.classpath;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes the binary file in which a {@link ClassPathIndex} persists
+ * the classes of its jar roots.
+ * <p>
+ * Each jar is recorded with its size, last modified time and central 
+ * directory checksum, so that changed jars can be detected and rescanned.
+ * Class names are stored sorted, each as the length of the prefix it shares 
+ * with the preceding name followed by the remaining characters.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 20, 2018 11:12:30 AM
+ */
+final class ClassPathIndexFile {
+    
+    private static final int MAGIC = 0x42435849;
+    
+    private static final int VERSION = 2;
+    
+    static final class Entry {
+        
+        final String location;
+        final long size;
+        final long lastModified;
+        final long hash;
+        final List<String> classNames;
+
+        Entry(String location, long size, long lastModified, long hash, List<String> classNames) {
+            this.location = location;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+            this.classNames = classNames;
+        }
+        
+        boolean matches(long size, long lastModified, long hash) {
+            return this.size == size && this.lastModified == lastModified && this.hash == hash;
+        }
+    }
+
+    private ClassPathIndexFile() { }
+    
+    /**
+     * @param path The index file to read
+     * @return The entries of the index file keyed by location
+     * @throws IOException If the file could not be read or is not a valid index file
+     */
+    static Map<String, Entry> read(Path path) throws IOException {
+        try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if(in.readInt() != MAGIC) {
+                throw new IOException("Not a class path index file: " + path);
+            }
+            final int version = in.readInt();
+            if(version != VERSION) {
+                throw new IOException("Unsupported class path index file version: " + version);
+            }
+            final int entryCount = in.readInt();
+            final Map<String, Entry> output = new LinkedHashMap<>(entryCount * 4 / 3 + 1);
+            for(int i=0; i<entryCount; i++) {
+                final String location = in.readUTF();
+                final long size = in.readLong();
+                final long lastModified = in.readLong();
+                final long hash = in.readLong();
+                final int classCount = in.readInt();
+                final List<String> classNames = new ArrayList<>(classCount);
+                String previous = "";
+                for(int j=0; j<classCount; j++) {
+                    final int prefixLength = in.readUnsignedShort();
+                    previous = previous.substring(0, prefixLength) + in.readUTF();
+                    classNames.add(previous);
+                }
+                output.put(location, new Entry(location, size, lastModified, hash, classNames));
+            }
+            return output;
+        }
+    }
+    
+    /**
+     * The file is first written to a temporary file which then replaces it.
+     * @param path The index file to write
+     * @param entries The entries to write. The class names of each must be sorted.
+     * @throws IOException 
+     */
+    static void write(Path path, Collection<Entry> entries) throws IOException {
+        final Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        final Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try{
+            try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(entries.size());
+                for(Entry entry : entries) {
+                    out.writeUTF(entry.location);
+                    out.writeLong(entry.size);
+                    out.writeLong(entry.lastModified);
+                    out.writeLong(entry.hash);
+                    out.writeInt(entry.classNames.size());
+                    String previous = "";
+                    for(String className : entry.classNames) {
+                        final int prefixLength = commonPrefixLength(previous, className);
+                        out.writeShort(prefixLength);
+                        out.writeUTF(className.substring(prefixLength));
+                        previous = className;
+                    }
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }finally{
+            Files.deleteIfExists(temp);
+        }
+    }
+    
+    private static int commonPrefixLength(String a, String b) {
+        final int max = Math.min(Math.min(a.length(), b.length()), 0xFFFF);
+        int i = 0;
+        while(i < max && a.charAt(i) == b.charAt(i)) {
+            ++i;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bc.reflection.classpath;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maps packages to the names of the classes in them, with one node per 
+ * package name segment. Querying a package visits only the nodes of that 
+ * package and its sub-packages.
+ * <p>
+ * Not thread safe while being built. Call {@link #sort()} once all class 
+ * names have been added, after which instances may be shared.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 19, 2018 9:14:27 AM
+ */
+final class PackageTrie {
+    
+    private static final class Node {
+        
+        private final Map<String, Node> children = new TreeMap<>();
+        
+        private final List<String> classNames = new ArrayList<>();
+        
+        private Node child(String segment) {
+            Node child = children.get(segment);
+            if(child == null) {
+                child = new Node();
+                children.put(segment, child);
+            }
+            return child;
+        }
+        
+        private void sort() {
+            Collections.sort(classNames);
+            for(Node child : children.values()) {
+                child.sort();
+            }
+        }
+        
+        private void collect(Collection<String> output) {
+            output.addAll(classNames);
+            for(Node child : children.values()) {
+                child.collect(output);
+            }
+        }
+    }
+    
+    private final Node root = new Node();
+    
+    private int size;
+
+    PackageTrie() { }
+    
+    /**
+     * @param className The binary name of the class to add
+     */
+    void add(String className) {
+        Node node = root;
+        int start = 0;
+        for(int end; (end = className.indexOf('.', start)) != -1; start = end + 1) {
+            node = node.child(className.substring(start, end));
+        }
+        node.classNames.add(className);
+        ++size;
+    }
+    
+    PackageTrie sort() {
+        root.sort();
+        return this;
+    }
+    
+    /**
+     * @param packageName The package whose class names are to be collected
+     * @param output The collection to add the names of the classes in the 
+     * package and its sub-packages to.
+     */
+    void collect(String packageName, Collection<String> output) {
+        Node node = root;
+        if(!packageName.isEmpty()) {
+            int start = 0;
+            int end;
+            do{
+                end = packageName.indexOf('.', start);
+                final String segment = end == -1 ? 
+                        packageName.substring(start) : packageName.substring(start, end);
+                node = node.children.get(segment);
+                if(node == null) {
+                    return;
+                }
+                start = end + 1;
+            }while(end != -1);
+        }
+        node.collect(output);
+    }
+    
+    /**
+     * @return The names of all the classes in this trie
+     */
+    List<String> getClassNames() {
+        final List<String> output = new ArrayList<>(size);
+        root.collect(output);
+        return output;
+    }
+    
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bc.reflection.classpath;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * The central directory of a zip (jar) file, located via its end of central
+ * directory record and read directly from a {@link java.nio.channels.FileChannel}.
+ * <p>
+ * The central directory is located by {@link #locate(java.nio.channels.FileChannel)}
+ * with a single read near the end of the file, which also yields a 
+ * {@link #hash() fingerprint} of the archive. It is then read by 
+ * {@link #load(java.nio.channels.FileChannel)} into a single heap buffer, 
+ * rather than memory mapped, so that no reference to the file outlives the channel. No per entry
+ * objects are created other than the names passed to 
+ * {@link #forEachEntryName(java.util.function.Consumer)} and nothing is 
+ * decompressed. The channel may be closed once an instance has been read.
+ * </p>
+ * <p>
+ * As per {@link java.util.zip.ZipFile}, bytes prepended to the archive, e.g 
+ * the launcher script of a self executing jar, are allowed for. The offsets 
+ * recorded in the archive are adjusted by the size of such a prefix.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 20, 2018 10:05:44 AM
+ * @see https://pkware.cachefly.net/webdocs/casestudies/APPNOTE.TXT
+ */
+final class ZipCentralDirectory {
+    
+    private static final int EOCD_SIGNATURE = 0x06054b50;
+    private static final int EOCD_SIZE = 22;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_LOCATOR_SIZE = 20;
+    private static final int ZIP64_EOCD_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_EOCD_SIZE = 56;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+    
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    
+    private static final int METHOD_STORED = 0;
+    private static final int METHOD_DEFLATED = 8;
+    
+    /**
+     * The offset of the central directory within the file
+     */
+    final long offset;
+    
+    /**
+     * The number of bytes prepended to the archive, which is added to each 
+     * offset recorded in the archive
+     */
+    final long prefix;
+    
+    /**
+     * The size of the central directory in bytes
+     */
+    final long size;
+    
+    /**
+     * The number of entries in the central directory
+     */
+    final long entryCount;
+    
+    /**
+     * A CRC-32 checksum of the end of the file
+     */
+    private final long hash;
+    
+    /**
+     * The central directory, in little endian order, or null if not loaded
+     */
+    private final ByteBuffer buffer;
+
+    private ZipCentralDirectory(long offset, long prefix, long size, long entryCount, 
+            long hash, ByteBuffer buffer) {
+        this.offset = offset;
+        this.prefix = prefix;
+        this.size = size;
+        this.entryCount = entryCount;
+        this.hash = hash;
+        this.buffer = buffer;
+    }
+    
+    /**
+     * @param channel The channel of the zip file
+     * @return The loaded central directory of the zip file
+     * @throws IOException If the file could not be read or is not a zip file
+     * @see #locate(java.nio.channels.FileChannel) 
+     * @see #load(java.nio.channels.FileChannel) 
+     */
+    static ZipCentralDirectory read(FileChannel channel) throws IOException {
+        return locate(channel).load(channel);
+    }
+    
+    /**
+     * Reads the end of central directory record, but not the central directory.
+     * @param channel The channel of the zip file
+     * @return The central directory of the zip file, not yet loaded
+     * @throws IOException If the file could not be read or is not a zip file
+     */
+    static ZipCentralDirectory locate(FileChannel channel) throws IOException {
+        
+        final long length = channel.size();
+        if(length < EOCD_SIZE) {
+            throw new ZipException("Not a zip file");
+        }
+        
+        // The end of central directory record is followed by a comment of at most 64k
+        final int tailSize = (int)Math.min(length, EOCD_SIZE + MAX_COMMENT_SIZE);
+        final ByteBuffer tail = readFully(channel, length - tailSize, tailSize);
+        
+        for(int i = tailSize - EOCD_SIZE; i >= 0; i--) {
+            if(tail.getInt(i) != EOCD_SIGNATURE) {
+                continue;
+            }
+            long entryCount = tail.getShort(i + 10) & 0xFFFF;
+            long size = tail.getInt(i + 12) & 0xFFFFFFFFL;
+            long offset = tail.getInt(i + 16) & 0xFFFFFFFFL;
+            
+            // The central directory immediately precedes this position
+            long endPosition = length - tailSize + i;
+            if((entryCount == 0xFFFF || size == 0xFFFFFFFFL || offset == 0xFFFFFFFFL) && 
+                    endPosition >= ZIP64_LOCATOR_SIZE) {
+                final ByteBuffer locator = readFully(channel, endPosition - ZIP64_LOCATOR_SIZE, ZIP64_LOCATOR_SIZE);
+                if(locator.getInt(0) == ZIP64_LOCATOR_SIGNATURE) {
+                    // As per ZipFile, the zip64 record is expected to precede the 
+                    // locator. The recorded position is used otherwise.
+                    long zip64Position = endPosition - ZIP64_LOCATOR_SIZE - ZIP64_EOCD_SIZE;
+                    ByteBuffer zip64 = zip64Position < 0 ? null : readFully(channel, zip64Position, ZIP64_EOCD_SIZE);
+                    if(zip64 == null || zip64.getInt(0) != ZIP64_EOCD_SIGNATURE) {
+                        zip64Position = locator.getLong(8);
+                        zip64 = readFully(channel, zip64Position, ZIP64_EOCD_SIZE);
+                    }
+                    if(zip64.getInt(0) != ZIP64_EOCD_SIGNATURE) {
+                        throw new ZipException("Invalid zip64 end of central directory record");
+                    }
+                    entryCount = zip64.getLong(32);
+                    size = zip64.getLong(40);
+                    offset = zip64.getLong(48);
+                    endPosition = zip64Position;
+                }
+            }
+            
+            final long prefix = endPosition - size - offset;
+            if(offset < 0 || size < 0 || size > Integer.MAX_VALUE || prefix < 0) {
+                throw new ZipException("Invalid central directory offset: " + offset + ", size: " + size);
+            }
+            
+            final CRC32 crc = new CRC32();
+            crc.update(tail);
+            
+            return new ZipCentralDirectory(prefix + offset, prefix, size, entryCount, crc.getValue(), null);
+        }
+        
+        throw new ZipException("End of central directory record not found");
+    }
+    
+    /**
+     * @param channel The channel of the zip file this central directory was located in
+     * @return This central directory with its entries read from the channel
+     * @throws IOException If the file could not be read
+     */
+    ZipCentralDirectory load(FileChannel channel) throws IOException {
+        return buffer != null ? this : new ZipCentralDirectory(offset, prefix, size, entryCount, 
+                hash, readFully(channel, offset, (int)size));
+    }
+    
+    /**
+     * The checksum covers the last bytes of the file, up to the size of the
+     * largest end of central directory record with its comment. These hold the
+     * size, offset and entry count of the central directory, the comment, and
+     * for all but large archives the central directory itself, which records
+     * the name, size and CRC-32 of every entry. The checksum is hence taken 
+     * without reading more than {@link #locate(java.nio.channels.FileChannel)} does.
+     * @return A CRC-32 checksum of the end of the zip file
+     */
+    long hash() {
+        return hash;
+    }
+    
+    /**
+     * @param action The action to apply to the name of each entry, in the 
+     * order of the central directory
+     * @throws ZipException If the central directory is corrupt
+     */
+    void forEachEntryName(Consumer<String> action) throws ZipException {
+        this.requireLoaded();
+        for(int position = 0; position < size; position = next(position)) {
+            action.accept(getName(position));
+        }
+    }
+    
+    /**
+     * Reads an entry which is either stored or deflated. Only the named 
+     * entry is decompressed.
+     * @param channel The channel of the zip file this central directory was read from
+     * @param name The name of the entry to read
+     * @return A stream of the contents of the entry or null if the entry doesn't exist
+     * @throws IOException 
+     */
+    InputStream getInputStream(FileChannel channel, String name) throws IOException {
+        
+        this.requireLoaded();
+        int position = 0;
+        while(position < size && !name.equals(getName(position))) {
+            position = next(position);
+        }
+        if(position >= size) {
+            return null;
+        }
+        
+        final int method = buffer.getShort(position + 10) & 0xFFFF;
+        final long compressedSize = buffer.getInt(position + 20) & 0xFFFFFFFFL;
+        final long uncompressedSize = buffer.getInt(position + 24) & 0xFFFFFFFFL;
+        final long localHeaderOffset = buffer.getInt(position + 42) & 0xFFFFFFFFL;
+        if(compressedSize >= Integer.MAX_VALUE || uncompressedSize >= Integer.MAX_VALUE || 
+                localHeaderOffset == 0xFFFFFFFFL) {
+            throw new ZipException("Entry too large: " + name);
+        }
+        
+        final ByteBuffer localHeader = readFully(channel, prefix + localHeaderOffset, LOCAL_HEADER_SIZE);
+        if(localHeader.getInt(0) != LOCAL_HEADER_SIGNATURE) {
+            throw new ZipException("Invalid local header for entry: " + name);
+        }
+        final long dataOffset = prefix + localHeaderOffset + LOCAL_HEADER_SIZE + 
+                (localHeader.getShort(26) & 0xFFFF) + (localHeader.getShort(28) & 0xFFFF);
+        final ByteBuffer data = readFully(channel, dataOffset, (int)compressedSize);
+        
+        switch(method) {
+            case METHOD_STORED:
+                return new ByteArrayInputStream(data.array());
+            case METHOD_DEFLATED:
+                final Inflater inflater = new Inflater(true);
+                try{
+                    inflater.setInput(data.array());
+                    final byte [] output = new byte[(int)uncompressedSize];
+                    int n = 0;
+                    while(n < output.length && !inflater.finished()) {
+                        final int inflated = inflater.inflate(output, n, output.length - n);
+                        if(inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                            throw new ZipException("Truncated entry: " + name);
+                        }
+                        n += inflated;
+                    }
+                    return new ByteArrayInputStream(output, 0, n);
+                }catch(DataFormatException e) {
+                    throw (ZipException)new ZipException("Invalid entry: " + name).initCause(e);
+                }finally{
+                    inflater.end();
+                }
+            default:
+                throw new ZipException("Unsupported compression method: " + method + ", for entry: " + name);
+        }
+    }
+    
+    private void requireLoaded() {
+        if(buffer == null) {
+            throw new IllegalStateException("Central directory not loaded");
+        }
+    }
+    
+    private String getName(int position) throws ZipException {
+        if(buffer.getInt(position) != CENTRAL_HEADER_SIGNATURE) {
+            throw new ZipException("Invalid central directory header at: " + (offset + position));
+        }
+        // As per JarFile, names are decoded as UTF-8 whether or not the flag is set
+        final int nameLength = buffer.getShort(position + 28) & 0xFFFF;
+        final byte [] name = new byte[nameLength];
+        final ByteBuffer view = buffer.duplicate();
+        view.position(position + CENTRAL_HEADER_SIZE);
+        view.get(name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+    
+    private int next(int position) {
+        return position + CENTRAL_HEADER_SIZE + 
+                (buffer.getShort(position + 28) & 0xFFFF) + 
+                (buffer.getShort(position + 30) & 0xFFFF) + 
+                (buffer.getShort(position + 32) & 0xFFFF);
+    }
+    
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while(buffer.hasRemaining()) {
+            if(channel.read(buffer, position + buffer.position()) == -1) {
+                throw new EOFException();
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
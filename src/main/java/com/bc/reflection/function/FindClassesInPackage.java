@@ -1,22 +1,25 @@
 package com.bc.reflection.function;
 
-import java.io.File;
+import com.bc.reflection.classpath.ClassHeader;
+import com.bc.reflection.classpath.ClassInfo;
+import com.bc.reflection.classpath.ClassPathIndex;
 import java.io.IOException;
-import java.net.JarURLConnection;
 import java.net.URL;
-import java.net.URLConnection;
-import java.net.URLDecoder;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Enumeration;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 /**
+ * Classes are found via a {@link com.bc.reflection.classpath.ClassPathIndex},
+ * which scans each class path root once. By default the index is shared by 
+ * all instances of this class. Anonymous and local classes are not found.
  * @author hp
  * @see https://stackoverflow.com/questions/520328/can-you-find-all-classes-in-a-package-using-reflection
  */
@@ -24,6 +27,26 @@ public class FindClassesInPackage implements Function<String, List<Class<?>>>{
 
     private static final Logger LOG = Logger.getLogger(FindClassesInPackage.class.getName());
     
+    private final ClassPathIndex index;
+    
+    public FindClassesInPackage() { 
+        this(ClassPathIndex.getShared());
+    }
+    
+    /**
+     * Scans class path roots and their directories in parallel over the 
+     * specified pool. Results are returned in the same order as when 
+     * scanning sequentially. The index created is not shared.
+     * @param pool The pool to scan over
+     */
+    public FindClassesInPackage(ForkJoinPool pool) { 
+        this(new ClassPathIndex(Objects.requireNonNull(pool)));
+    }
+    
+    public FindClassesInPackage(ClassPathIndex index) { 
+        this.index = Objects.requireNonNull(index);
+    }
+    
     @Override
     public List<Class<?>> apply(String packageName) {
         try{
@@ -56,27 +79,18 @@ public class FindClassesInPackage implements Function<String, List<Class<?>>>{
             throw new ClassNotFoundException("Can't get class loader.");
         }
 
-        final Enumeration<URL> resources = cld.getResources(packageName.replace('.', '/'));
-
-        URLConnection connection;
+        final List<URL> resources = this.getResources(cld, packageName);
 
-        for (URL url = null; resources.hasMoreElements()
-                && ((url = resources.nextElement()) != null);) {
-
-                connection = url.openConnection();
-
-            if (connection instanceof JarURLConnection) {
-
-                checkJarFile((JarURLConnection) connection, packageName, classes);
-
-            } else if (connection.getClass().getCanonicalName().equals("sun.net.www.protocol.file.FileURLConnection")) {
-
-                checkDirectory(new File(URLDecoder.decode(url.getPath(), "UTF-8")), packageName, classes);
-            } else {
-                throw new IOException(packageName + " ("
-                        + url.getPath()
-                        + ") does not appear to be a valid package");
-            }    
+        for (URL url : resources) {
+            
+            for(String className : index.getClassNames(url, packageName)) {
+                try {
+                    classes.add(Class.forName(className));
+                } catch (final NoClassDefFoundError e) {
+                    // do nothing. this class hasn't been found by the
+                    // loader, and we don't care.
+                }
+            }
         }
 
         List<Class<?>> result = classes.isEmpty() ? Collections.EMPTY_LIST : Collections.unmodifiableList(classes);
@@ -87,75 +101,121 @@ public class FindClassesInPackage implements Function<String, List<Class<?>>>{
         
         return result;
     }
-    
+
     /**
-     * Private helper method
+     * Lists descriptors of all the classes in the specified package as 
+     * determined by the context class loader. No class is loaded or 
+     * initialized by this method. {@link ClassInfo#load()} loads the class,
+     * without initializing it, using the context class loader.
      * 
-     * @param directory
-     *            The directory to start with
-     * @param pckgname
-     *            The package name to search for. Will be needed for getting the
-     *            Class object.
-     * @param classes
-     *            if a file isn't loaded but still is in the directory
-     * @throws ClassNotFoundException
+     * @param packageName
+     *            the package name to search
+     * @return a list of descriptors of the classes within that package
+     * @throws ClassNotFoundException if there is no context class loader
+     * @throws IOException
      */
-    private void checkDirectory(File directory, String pckgname, List<Class<?>> classes) throws ClassNotFoundException {
-        File tmpDirectory;
-
-        if (directory.exists() && directory.isDirectory()) {
-            
-            final String[] files = directory.list();
-
-            for (final String file : files) {
-                if (file.endsWith(".class")) {
-                    try {
-                        classes.add(Class.forName(pckgname + '.'
-                                + file.substring(0, file.length() - 6)));
-                    } catch (final NoClassDefFoundError e) {
-                        // do nothing. this class hasn't been found by the
-                        // loader, and we don't care.
-                    }
-                } else if ((tmpDirectory = new File(directory, file))
-                        .isDirectory()) {
-                    checkDirectory(tmpDirectory, pckgname + "." + file, classes);
-                }
-            }
-        }
+    public List<ClassInfo> getClassInfos(String packageName) 
+            throws ClassNotFoundException, IOException {
+        
+        return this.getClassInfos(packageName, null);
     }
 
     /**
-     * Private helper method.
+     * Lists descriptors of the classes in the specified package, whose class
+     * file header is accepted by the filter. The filter is applied to headers
+     * read directly from the class files. No class is loaded or initialized 
+     * by this method.
      * 
-     * @param connection
-     *            the connection to the jar
-     * @param pckgname
-     *            the package name to search for
-     * @param classes
-     *            the current ArrayList of all classes. This method will simply
-     *            add new classes.
-     * @throws ClassNotFoundException
-     *             if a file isn't loaded but still is in the jar file
+     * @param packageName
+     *            the package name to search
+     * @param filter 
+     *            the filter to apply to each class header, may be null in
+     *            which case all classes are accepted
+     * @return a list of descriptors of the accepted classes within that package
+     * @throws ClassNotFoundException if there is no context class loader
      * @throws IOException
-     *             if it can't correctly read from the jar file.
+     * @see #getClassInfos(java.lang.String) 
      */
-    private void checkJarFile(JarURLConnection connection, String pckgname, List<Class<?>> classes)
+    public List<ClassInfo> getClassInfos(String packageName, Predicate<? super ClassHeader> filter) 
             throws ClassNotFoundException, IOException {
-        final JarFile jarFile = connection.getJarFile();
-        final Enumeration<JarEntry> entries = jarFile.entries();
-        String name;
+        
+        final List<ClassInfo> output = new ArrayList<>();
 
-        for (JarEntry jarEntry = null; entries.hasMoreElements()
-                && ((jarEntry = entries.nextElement()) != null);) {
-            name = jarEntry.getName();
+        final ClassLoader cld = Thread.currentThread()
+                .getContextClassLoader();
 
-            if (name.contains(".class")) {
-                name = name.substring(0, name.length() - 6).replace('/', '.');
+        if (cld == null) {
+            throw new ClassNotFoundException("Can't get class loader.");
+        }
 
-                if (name.contains(pckgname)) {
-                    classes.add(Class.forName(name));
-                }
-            }
+        for(URL url : this.getResources(cld, packageName)) {
+            output.addAll(filter == null ? index.getClassInfos(url, packageName, cld) :
+                    index.getClassInfos(url, packageName, cld, filter));
         }
+        
+        return output.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(output);
+    }
+    
+    /**
+     * Streams descriptors of the classes in the specified package as 
+     * determined by the context class loader, as they are found.
+     * @param packageName
+     *            the package name to search
+     * @return a stream of descriptors of the classes within that package
+     * @throws ClassNotFoundException if there is no context class loader
+     * @throws IOException
+     * @see #stream(java.lang.String, java.util.function.Predicate) 
+     */
+    public Stream<ClassInfo> stream(String packageName) 
+            throws ClassNotFoundException, IOException {
+        
+        return this.stream(packageName, null);
+    }
+
+    /**
+     * Streams descriptors of the classes in the specified package, whose 
+     * class file header is accepted by the filter, as they are found. 
+     * Unlike {@link #getClassInfos(java.lang.String, java.util.function.Predicate)}
+     * no list of results is built and class path roots are indexed only 
+     * when reached, hence short-circuiting operations such as 
+     * {@link java.util.stream.Stream#findFirst()} end the scan early. 
+     * Close the stream to release any jar file opened for filtering.
+     * 
+     * @param packageName
+     *            the package name to search
+     * @param filter 
+     *            the filter to apply to each class header, may be null in
+     *            which case all classes are accepted
+     * @return a stream of descriptors of the accepted classes within that package
+     * @throws ClassNotFoundException if there is no context class loader
+     * @throws IOException
+     * @see com.bc.reflection.classpath.ClassPathIndex#stream(java.util.List, java.lang.String, java.lang.ClassLoader, java.util.function.Predicate) 
+     */
+    public Stream<ClassInfo> stream(String packageName, Predicate<? super ClassHeader> filter) 
+            throws ClassNotFoundException, IOException {
+        
+        final ClassLoader cld = Thread.currentThread()
+                .getContextClassLoader();
+
+        if (cld == null) {
+            throw new ClassNotFoundException("Can't get class loader.");
+        }
+        
+        final List<URL> resources = Collections.list(cld.getResources(packageName.replace('.', '/')));
+        
+        return index.stream(resources, packageName, cld, filter);
+    }
+    
+    /**
+     * Returns the URLs of the package after indexing their class path roots,
+     * in parallel if the index is so configured.
+     */
+    private List<URL> getResources(ClassLoader cld, String packageName) throws IOException {
+        
+        final List<URL> resources = Collections.list(cld.getResources(packageName.replace('.', '/')));
+        
+        index.index(resources, packageName);
+        
+        return resources;
     }
 }
@@ -16,10 +16,9 @@
 
 package com.bc.reflection.function;
 
-import com.bc.reflection.ReflectionUtil;
+import com.bc.reflection.GenericTypes;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
-import java.util.List;
 import java.util.Objects;
 import java.util.function.Predicate;
 
@@ -32,8 +31,6 @@ public class MethodHasParameterType implements Predicate<Method> {
     
     private final boolean generic;
     
-    private final ReflectionUtil reflection;
-    
     public MethodHasParameterType(Class parameterType) {
         this(parameterType, false);
     }
@@ -41,28 +38,19 @@ public class MethodHasParameterType implements Predicate<Method> {
     public MethodHasParameterType(Class parameterType, boolean generic) {
         this.parameterType = Objects.requireNonNull(parameterType);
         this.generic = generic;
-        this.reflection = new ReflectionUtil();
     }
 
     @Override
     public boolean test(Method method) {
         final boolean output;
-        if(method.getParameterTypes().length != 1) {
+        if(method.getParameterCount() != 1) {
             output = false;
         }else{
             final Class methodParamType;
             if(generic) {
-                final List<Type[]> list = this.reflection.getGenericParameterTypeArguments(method);
-                if(list.isEmpty()) {
-                    methodParamType = null;
-                }else{
-                    final Type [] arr = list.get(0);
-                    if(arr == null || arr.length == 0) {
-                        methodParamType = null;
-                    }else{
-                        methodParamType = (Class)arr[0];
-                    }
-                }
+                // Cached, hence the signature is parsed once per method
+                final Type type = GenericTypes.getParameterTypeArgument(method, 0, 0);
+                methodParamType = type instanceof Class ? (Class)type : null;
             }else{
                 methodParamType = method.getParameterTypes()[0];
             }
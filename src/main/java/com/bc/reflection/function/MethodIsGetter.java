@@ -23,15 +23,21 @@ import java.util.function.Predicate;
  * @author Chinomso Bassey Ikwuagwu on Apr 30, 2017 10:35:01 AM
  */
 public class MethodIsGetter implements Predicate<Method> {
+    
+    /**
+     * This class is stateless, hence this instance may be shared
+     */
+    public static final MethodIsGetter INSTANCE = new MethodIsGetter();
 
     public MethodIsGetter() { }
 
     @Override
     public boolean test(Method method) {
+        if(method.getParameterCount() != 0) {
+            return false;
+        }
         final String methodName = method.getName();
         return (methodName.startsWith("get") || methodName.startsWith("is")) && 
-                method.getParameterTypes().length == 0 && 
-                method.getReturnType() != null && 
                 method.getReturnType() != java.lang.Void.TYPE;
     }
 }
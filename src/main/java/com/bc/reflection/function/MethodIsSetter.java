@@ -23,14 +23,21 @@ import java.util.function.Predicate;
  * @author Chinomso Bassey Ikwuagwu on Apr 30, 2017 10:44:49 AM
  */
 public class MethodIsSetter implements Predicate<Method> {
+    
+    /**
+     * This class is stateless, hence this instance may be shared
+     */
+    public static final MethodIsSetter INSTANCE = new MethodIsSetter();
 
     public MethodIsSetter() { }
 
     @Override
     public boolean test(Method method) {
+        if(method.getParameterCount() != 1) {
+            return false;
+        }
         final String methodName = method.getName();
         return (methodName.startsWith("set") || methodName.startsWith("is")) 
-                && method.getParameterTypes().length == 1
                 && method.getReturnType() == java.lang.Void.TYPE;
     }
 }
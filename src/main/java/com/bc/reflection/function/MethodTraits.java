@@ -0,0 +1,252 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection.function;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * The traits of the declared methods of a class, each classified once into 
+ * a bitset and cached per class.
+ * <p>
+ * Traits combine as bit masks, e.g <tt>GETTER | SETTER</tt>. The predicates 
+ * returned by {@link #hasAny(int)} and {@link #hasAll(int)} compose via 
+ * {@link java.util.function.Predicate#and(java.util.function.Predicate)},
+ * {@link java.util.function.Predicate#or(java.util.function.Predicate)} and
+ * {@link java.util.function.Predicate#negate()}. Scanning the classified 
+ * methods of a class via {@link #select(int)} allocates only the result.
+ * </p>
+ * Thread safe.
+ * @author Chinomso Bassey Ikwuagwu on Oct 22, 2018 2:34:50 PM
+ */
+public final class MethodTraits {
+    
+    /**
+     * As tested by {@link MethodIsGetter}
+     */
+    public static final int GETTER = 1;
+    
+    /**
+     * As tested by {@link MethodIsSetter}
+     */
+    public static final int SETTER = 1 << 1;
+    
+    /**
+     * A getter named <tt>is...</tt> which returns <tt>boolean</tt> or <tt>Boolean</tt>
+     */
+    public static final int BOOLEAN_IS = 1 << 2;
+    
+    /**
+     * A non static method with one parameter, which returns the type 
+     * declaring it, e.g <tt>Builder name(String name)</tt>
+     */
+    public static final int FLUENT = 1 << 3;
+    
+    public static final int STATIC = 1 << 4;
+    
+    public static final int PUBLIC = 1 << 5;
+    
+    /**
+     * Declared by the compiler, e.g bridge methods
+     */
+    public static final int SYNTHETIC = 1 << 6;
+    
+    private static final ClassValue<MethodTraits> CACHE = new ClassValue<MethodTraits>() {
+        @Override
+        protected MethodTraits computeValue(Class<?> type) {
+            return new MethodTraits(type);
+        }
+    };
+    
+    /**
+     * @param type The class whose declared methods are to be classified
+     * @return The traits of the declared methods of the class
+     */
+    public static MethodTraits of(Class<?> type) {
+        return CACHE.get(type);
+    }
+    
+    /**
+     * @param method The method to classify
+     * @return The traits of the method as a bitset
+     */
+    public static int traitsOf(Method method) {
+        int traits = 0;
+        final int modifiers = method.getModifiers();
+        if(Modifier.isStatic(modifiers)) {
+            traits |= STATIC;
+        }
+        if(Modifier.isPublic(modifiers)) {
+            traits |= PUBLIC;
+        }
+        if(method.isSynthetic() || method.isBridge()) {
+            traits |= SYNTHETIC;
+        }
+        if(MethodIsGetter.INSTANCE.test(method)) {
+            traits |= GETTER;
+            final Class<?> returnType = method.getReturnType();
+            if(method.getName().startsWith("is") && 
+                    (returnType == boolean.class || returnType == Boolean.class)) {
+                traits |= BOOLEAN_IS;
+            }
+        }
+        if(MethodIsSetter.INSTANCE.test(method)) {
+            traits |= SETTER;
+        }else if(method.getParameterCount() == 1 && (traits & STATIC) == 0 && 
+                method.getReturnType().isAssignableFrom(method.getDeclaringClass()) && 
+                method.getReturnType() != Object.class) {
+            traits |= FLUENT;
+        }
+        return traits;
+    }
+    
+    /**
+     * @param method The method whose traits are to be returned
+     * @return The traits of the method as cached for its declaring class
+     * @see #getTraits(java.lang.reflect.Method) 
+     */
+    public static int cachedTraitsOf(Method method) {
+        return of(method.getDeclaringClass()).getTraits(method);
+    }
+    
+    /**
+     * The traits of tested methods are looked up in the cache of their 
+     * declaring class, as by {@link #cachedTraitsOf(java.lang.reflect.Method)}.
+     * @param mask The traits to test for
+     * @return A predicate accepting methods with at least one of the traits
+     */
+    public static Predicate<Method> hasAny(int mask) {
+        return (method) -> (cachedTraitsOf(method) & mask) != 0;
+    }
+    
+    /**
+     * The traits of tested methods are looked up in the cache of their 
+     * declaring class, as by {@link #cachedTraitsOf(java.lang.reflect.Method)}.
+     * @param mask The traits to test for
+     * @return A predicate accepting methods with all of the traits
+     */
+    public static Predicate<Method> hasAll(int mask) {
+        return (method) -> (cachedTraitsOf(method) & mask) == mask;
+    }
+    
+    private final Class<?> type;
+    
+    private final Method [] methods;
+    
+    private final int [] traits;
+
+    private MethodTraits(Class<?> type) {
+        this.type = type;
+        this.methods = type.getDeclaredMethods();
+        this.traits = new int[methods.length];
+        for(int i=0; i<methods.length; i++) {
+            traits[i] = traitsOf(methods[i]);
+        }
+    }
+    
+    /**
+     * @param mask The traits to select methods by
+     * @return The declared methods having all the traits in the mask, in 
+     * the order of {@link java.lang.Class#getDeclaredMethods()}
+     */
+    public List<Method> select(int mask) {
+        return this.select(mask, 0);
+    }
+    
+    /**
+     * @param mask The traits to select methods by
+     * @param excludeMask The traits to exclude methods by
+     * @return The declared methods having all the traits in the mask and 
+     * none of the traits in the exclude mask
+     */
+    public List<Method> select(int mask, int excludeMask) {
+        List<Method> output = null;
+        for(int i=0; i<methods.length; i++) {
+            final int t = traits[i];
+            if((t & mask) == mask && (t & excludeMask) == 0) {
+                if(output == null) {
+                    output = new ArrayList<>();
+                }
+                output.add(methods[i]);
+            }
+        }
+        return output == null ? Collections.emptyList() : output;
+    }
+    
+    /**
+     * @return The number of declared methods
+     */
+    public int size() {
+        return methods.length;
+    }
+    
+    /**
+     * @param index The position of the method
+     * @return The declared method at the position, in the order of 
+     * {@link java.lang.Class#getDeclaredMethods()}
+     */
+    public Method getMethod(int index) {
+        return methods[index];
+    }
+    
+    /**
+     * @param index The position of the method
+     * @return The traits of the declared method at the position
+     */
+    public int getTraits(int index) {
+        return traits[index];
+    }
+    
+    /**
+     * @param method A method declared by the class of this instance
+     * @return The cached traits of the method. For methods not declared by 
+     * the class, the traits are computed as by {@link #traitsOf(java.lang.reflect.Method)}.
+     */
+    public int getTraits(Method method) {
+        // Method instances are copies, hence compared by equals. The name 
+        // is interned, so comparing it first rejects most methods cheaply.
+        final String name = method.getName();
+        for(int i=0; i<methods.length; i++) {
+            if(methods[i].getName() == name && methods[i].equals(method)) {
+                return traits[i];
+            }
+        }
+        return traitsOf(method);
+    }
+    
+    /**
+     * @param index The position of the method
+     * @param mask The traits to test for
+     * @return true if the declared method at the position has all the traits
+     */
+    public boolean hasAll(int index, int mask) {
+        return (traits[index] & mask) == mask;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    @Override
+    public String toString() {
+        return "MethodTraits{" + "type=" + type.getName() + ", methods=" + methods.length + '}';
+    }
+}
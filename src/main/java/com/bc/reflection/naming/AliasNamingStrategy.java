@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection.naming;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Maps columns to properties via an explicit alias map, delegating columns 
+ * which have no alias to another strategy. Instances are equal if their 
+ * aliases and fallback strategies are equal.
+ * @author Chinomso Bassey Ikwuagwu on Oct 21, 2018 11:34:15 AM
+ */
+public final class AliasNamingStrategy implements NamingStrategy {
+    
+    private final Map<String, String> aliases;
+    
+    private final NamingStrategy fallback;
+
+    /**
+     * @param aliases Property names keyed by column name
+     */
+    public AliasNamingStrategy(Map<String, String> aliases) {
+        this(aliases, NamingStrategy.IDENTITY);
+    }
+
+    /**
+     * @param aliases Property names keyed by column name. The map is copied.
+     * @param fallback The strategy for columns which have no alias
+     */
+    public AliasNamingStrategy(Map<String, String> aliases, NamingStrategy fallback) {
+        this.aliases = Collections.unmodifiableMap(new HashMap<>(aliases));
+        this.fallback = Objects.requireNonNull(fallback);
+    }
+
+    @Override
+    public String toPropertyName(String columnName) {
+        final String alias = aliases.get(columnName);
+        return alias == null ? fallback.toPropertyName(columnName) : alias;
+    }
+
+    public Map<String, String> getAliases() {
+        return aliases;
+    }
+
+    public NamingStrategy getFallback() {
+        return fallback;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * aliases.hashCode() + fallback.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if(this == obj) {
+            return true;
+        }
+        if(!(obj instanceof AliasNamingStrategy)) {
+            return false;
+        }
+        final AliasNamingStrategy other = (AliasNamingStrategy)obj;
+        return aliases.equals(other.aliases) && fallback.equals(other.fallback);
+    }
+
+    @Override
+    public String toString() {
+        return "AliasNamingStrategy{" + "aliases=" + aliases + ", fallback=" + fallback + '}';
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection.naming;
+
+import com.bc.reflection.ClassProperties;
+import com.bc.reflection.Property;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resolves column names to the properties of a class via a 
+ * {@link NamingStrategy}. Each column is resolved once, after which the 
+ * result is memoized. The absence of a property is memoized for at most 
+ * {@link #MAX_CACHED_MISSES} columns, as resolvers may be shared process wide.
+ * <p>
+ * Instances are thread safe. Those returned by 
+ * {@link #of(java.lang.Class, com.bc.reflection.naming.NamingStrategy)} are 
+ * cached per class and per strategy, strategies being compared by 
+ * {@link Object#equals(java.lang.Object)}. At most {@link #MAX_CACHED_STRATEGIES}
+ * strategies are cached per class. Callers which create strategies per use 
+ * should rather create and keep their own instances via 
+ * {@link #create(java.lang.Class, com.bc.reflection.naming.NamingStrategy)}.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 21, 2018 11:41:37 AM
+ */
+public final class ColumnResolver {
+    
+    private static final ClassValue<ConcurrentMap<NamingStrategy, ColumnResolver>> CACHE = 
+            new ClassValue<ConcurrentMap<NamingStrategy, ColumnResolver>>() {
+        @Override
+        protected ConcurrentMap<NamingStrategy, ColumnResolver> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>(4);
+        }
+    };
+    
+    /**
+     * The maximum number of strategies for which resolvers are cached per class
+     */
+    public static final int MAX_CACHED_STRATEGIES = 16;
+    
+    /**
+     * The maximum number of columns which map to no property, memoized per resolver
+     */
+    public static final int MAX_CACHED_MISSES = 64;
+    
+    /**
+     * @param type The class whose properties columns are resolved to
+     * @param strategy The strategy which maps column names to property names
+     * @return The cached resolver for the class and strategy or, if the 
+     * maximum number of strategies are already cached for the class, a new
+     * uncached resolver
+     */
+    public static ColumnResolver of(Class<?> type, NamingStrategy strategy) {
+        Objects.requireNonNull(strategy);
+        final Map<NamingStrategy, ColumnResolver> resolvers = CACHE.get(type);
+        final ColumnResolver resolver = resolvers.get(strategy);
+        if(resolver != null) {
+            return resolver;
+        }
+        if(resolvers.size() >= MAX_CACHED_STRATEGIES) {
+            return create(type, strategy);
+        }
+        return resolvers.computeIfAbsent(strategy, (key) -> new ColumnResolver(type, key));
+    }
+    
+    /**
+     * @param type The class whose properties columns are resolved to
+     * @param strategy The strategy which maps column names to property names
+     * @return A new resolver, which is not cached
+     */
+    public static ColumnResolver create(Class<?> type, NamingStrategy strategy) {
+        return new ColumnResolver(type, Objects.requireNonNull(strategy));
+    }
+    
+    private final ClassProperties properties;
+    
+    private final NamingStrategy strategy;
+    
+    /**
+     * The index of the property each column maps to, or -1 if none
+     */
+    private final ConcurrentMap<String, Integer> indexes = new ConcurrentHashMap<>();
+    
+    private final AtomicInteger misses = new AtomicInteger();
+
+    private ColumnResolver(Class<?> type, NamingStrategy strategy) {
+        this.properties = ClassProperties.of(type);
+        this.strategy = strategy;
+    }
+    
+    /**
+     * @param columnName The name of the column
+     * @return The property the column maps to, or null if none
+     */
+    public Property resolve(String columnName) {
+        Integer index = indexes.get(columnName);
+        if(index == null) {
+            final Property property = properties.getProperty(strategy.toPropertyName(columnName));
+            index = property == null ? -1 : property.getIndex();
+            if(index != -1 || misses.get() < MAX_CACHED_MISSES) {
+                if(indexes.putIfAbsent(columnName, index) == null && index == -1) {
+                    misses.incrementAndGet();
+                }
+            }
+        }
+        return index == -1 ? null : properties.getProperty(index);
+    }
+    
+    /**
+     * @param columnNames The column names e.g of a query result
+     * @return The properties the columns map to, in the same order. Columns
+     * which map to no property have a null element.
+     */
+    public Property [] resolveAll(List<String> columnNames) {
+        final Property [] output = new Property[columnNames.size()];
+        for(int i=0; i<output.length; i++) {
+            output[i] = this.resolve(columnNames.get(i));
+        }
+        return output;
+    }
+
+    public ClassProperties getProperties() {
+        return properties;
+    }
+
+    public NamingStrategy getStrategy() {
+        return strategy;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnResolver{" + "type=" + properties.getType().getName() + ", strategy=" + strategy + '}';
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection.naming;
+
+/**
+ * Maps delimited column names to camel case property names.
+ * @author Chinomso Bassey Ikwuagwu on Oct 21, 2018 11:26:52 AM
+ */
+final class DelimitedNamingStrategy implements NamingStrategy {
+    
+    private final char delimiter;
+    
+    /**
+     * If true the character following a delimiter is upper cased
+     */
+    private final boolean camelCase;
+    
+    /**
+     * If true all other characters are lower cased
+     */
+    private final boolean lowerCase;
+
+    DelimitedNamingStrategy(char delimiter, boolean camelCase, boolean lowerCase) {
+        this.delimiter = delimiter;
+        this.camelCase = camelCase;
+        this.lowerCase = lowerCase;
+    }
+
+    @Override
+    public String toPropertyName(String columnName) {
+        final StringBuilder builder = new StringBuilder(columnName.length());
+        boolean upperCaseNext = false;
+        for(int i=0; i<columnName.length(); i++) {
+            final char ch = columnName.charAt(i);
+            if(ch == delimiter) {
+                // A leading delimiter does not start a new word
+                upperCaseNext = camelCase && builder.length() > 0;
+                continue;
+            }
+            if(upperCaseNext) {
+                builder.append(Character.toUpperCase(ch));
+                upperCaseNext = false;
+            }else{
+                builder.append(lowerCase ? Character.toLowerCase(ch) : ch);
+            }
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public int hashCode() {
+        return (delimiter * 31 + (camelCase ? 1 : 0)) * 31 + (lowerCase ? 1 : 0);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if(this == obj) {
+            return true;
+        }
+        if(!(obj instanceof DelimitedNamingStrategy)) {
+            return false;
+        }
+        final DelimitedNamingStrategy other = (DelimitedNamingStrategy)obj;
+        return delimiter == other.delimiter && camelCase == other.camelCase && 
+                lowerCase == other.lowerCase;
+    }
+
+    @Override
+    public String toString() {
+        return "DelimitedNamingStrategy{" + "delimiter=" + delimiter + 
+                ", camelCase=" + camelCase + ", lowerCase=" + lowerCase + '}';
+    }
+}
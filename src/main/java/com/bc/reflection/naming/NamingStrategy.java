@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection.naming;
+
+/**
+ * Maps column names, e.g of a database table, to bean property names.
+ * <p>
+ * Resolution via {@link ColumnResolver#of(java.lang.Class, com.bc.reflection.naming.NamingStrategy)}
+ * is cached per class and per strategy, strategies being compared by 
+ * {@link Object#equals(java.lang.Object)}. At most 
+ * {@link ColumnResolver#MAX_CACHED_STRATEGIES} strategies are cached per class,
+ * hence strategies which are not equal to one another should be reused 
+ * rather than created per query.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 21, 2018 11:20:08 AM
+ */
+@FunctionalInterface
+public interface NamingStrategy {
+    
+    /**
+     * Columns are property names e.g <tt>firstName</tt>
+     */
+    NamingStrategy IDENTITY = new NamingStrategy() {
+        @Override
+        public String toPropertyName(String columnName) {
+            return columnName;
+        }
+        @Override
+        public String toString() {
+            return "NamingStrategy.IDENTITY";
+        }
+    };
+    
+    /**
+     * Underscores are removed e.g <tt>first_name</tt> becomes <tt>firstname</tt>,
+     * as by {@link com.bc.reflection.ReflectionUtil#getMethodAlphaNumeric(boolean, java.lang.reflect.Method[], java.lang.String)}
+     */
+    NamingStrategy ALPHA_NUMERIC = new DelimitedNamingStrategy('_', false, false);
+    
+    /**
+     * e.g <tt>first_name</tt> becomes <tt>firstName</tt>
+     */
+    NamingStrategy SNAKE_CASE = new DelimitedNamingStrategy('_', true, false);
+    
+    /**
+     * e.g <tt>FIRST_NAME</tt> becomes <tt>firstName</tt>
+     */
+    NamingStrategy UPPER_SNAKE_CASE = new DelimitedNamingStrategy('_', true, true);
+    
+    /**
+     * e.g <tt>first-name</tt> becomes <tt>firstName</tt>
+     */
+    NamingStrategy KEBAB_CASE = new DelimitedNamingStrategy('-', true, false);
+    
+    /**
+     * @param columnName The name of the column
+     * @return The name of the property the column maps to
+     */
+    String toPropertyName(String columnName);
+}
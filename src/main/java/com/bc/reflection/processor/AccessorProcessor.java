@@ -0,0 +1,404 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection.processor;
+
+import com.bc.reflection.accessor.GenerateAccessor;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates a {@link com.bc.reflection.accessor.BeanAccessor} for each class
+ * annotated with {@link GenerateAccessor}, which directly calls the getters 
+ * and setters of the class, or reads/writes its fields where a field has 
+ * neither getter nor setter.
+ * <p>
+ * Properties are discovered as per {@link com.bc.reflection.ClassProperties},
+ * from the members of the class and its supertypes which are accessible from
+ * the package of the class. The generated class also declares the name and 
+ * erased type of each property, see {@link GenerateAccessor#PROPERTY_NAMES} 
+ * and {@link GenerateAccessor#PROPERTY_TYPES}. Property types are resolved
+ * as members of the class, so that type variables of supertypes are bound.
+ * </p>
+ * <p>
+ * As with the other accessors, values set to primitive properties are widened
+ * as by reflection, and checked exceptions thrown by getters and setters are
+ * wrapped in a RuntimeException.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 23, 2018 10:31:17 AM
+ */
+@SupportedAnnotationTypes("com.bc.reflection.accessor.GenerateAccessor")
+public class AccessorProcessor extends AbstractProcessor {
+    
+    private static final class PropertyElements {
+        private final String name;
+        private Element getter;
+        private ExecutableElement setter;
+        private PropertyElements(String name) {
+            this.name = name;
+        }
+    }
+
+    public AccessorProcessor() { }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for(TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(GenerateAccessor.class))) {
+            if(type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.PRIVATE) ||
+                    type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, 
+                        "@GenerateAccessor requires a non private, top level or member class", type);
+                continue;
+            }
+            try{
+                this.write(type, this.getProperties(type));
+            }catch(IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, 
+                        "Failed to generate accessor, " + e, type);
+            }
+        }
+        return true;
+    }
+    
+    private Map<String, PropertyElements> getProperties(TypeElement type) {
+        final Elements elements = processingEnv.getElementUtils();
+        final Map<String, PropertyElements> properties = new TreeMap<>();
+        final Map<String, VariableElement> fields = new TreeMap<>();
+        for(Element member : elements.getAllMembers(type)) {
+            if(!this.isAccessible(type, member)) {
+                continue;
+            }
+            if(member.getKind() == ElementKind.FIELD) {
+                fields.putIfAbsent(member.getSimpleName().toString(), (VariableElement)member);
+                continue;
+            }
+            if(member.getKind() != ElementKind.METHOD) {
+                continue;
+            }
+            final ExecutableElement method = (ExecutableElement)member;
+            final String methodName = method.getSimpleName().toString();
+            final boolean isVoid = method.getReturnType().getKind() == TypeKind.VOID;
+            final int parameterCount = method.getParameters().size();
+            final boolean getter = parameterCount == 0 && !isVoid && 
+                    (methodName.startsWith("get") || methodName.startsWith("is"));
+            final boolean setter = parameterCount == 1 && isVoid && 
+                    (methodName.startsWith("set") || methodName.startsWith("is"));
+            final String key = getKey(methodName);
+            if(key == null || (!getter && !setter)) {
+                continue;
+            }
+            final PropertyElements property = properties.computeIfAbsent(key, 
+                    (k) -> new PropertyElements(Character.toLowerCase(k.charAt(0)) + k.substring(1)));
+            if(getter && property.getter == null) {
+                property.getter = method;
+            }else if(setter && property.setter == null) {
+                property.setter = method;
+            }
+        }
+        for(Map.Entry<String, VariableElement> entry : fields.entrySet()) {
+            final String name = entry.getKey();
+            final String key = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            if(!properties.containsKey(key)) {
+                final PropertyElements property = new PropertyElements(name);
+                property.getter = entry.getValue();
+                properties.put(key, property);
+            }
+        }
+        return properties;
+    }
+    
+    private boolean isAccessible(TypeElement type, Element member) {
+        final Set<Modifier> modifiers = member.getModifiers();
+        if(modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        final TypeElement declaringType = (TypeElement)member.getEnclosingElement();
+        if(declaringType.getQualifiedName().contentEquals(Object.class.getName())) {
+            return false;
+        }
+        if(modifiers.contains(Modifier.PUBLIC)) {
+            return true;
+        }
+        final Elements elements = processingEnv.getElementUtils();
+        return elements.getPackageOf(declaringType).equals(elements.getPackageOf(type));
+    }
+    
+    /**
+     * @see com.bc.reflection.ClassProperties#getKey(java.lang.String) 
+     */
+    private static String getKey(String methodName) {
+        for(int i=0; i<methodName.length(); i++) {
+            if(Character.isUpperCase(methodName.charAt(i))) {
+                return methodName.substring(i);
+            }
+        }
+        return null;
+    }
+    
+    private void write(TypeElement type, Map<String, PropertyElements> properties) throws IOException {
+        
+        final Elements elements = processingEnv.getElementUtils();
+        final Types types = processingEnv.getTypeUtils();
+        
+        final String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        final String binaryName = elements.getBinaryName(type).toString();
+        final String simpleName = (packageName.isEmpty() ? binaryName : 
+                binaryName.substring(packageName.length() + 1)) + GenerateAccessor.SUFFIX;
+        final String beanName = types.erasure(type.asType()).toString();
+        final PropertyElements [] array = properties.values().toArray(new PropertyElements[0]);
+        
+        final JavaFileObject file = processingEnv.getFiler().createSourceFile(
+                packageName.isEmpty() ? simpleName : packageName + '.' + simpleName, type);
+        try(PrintWriter out = new PrintWriter(file.openWriter())) {
+            if(!packageName.isEmpty()) {
+                out.println("package " + packageName + ";");
+                out.println();
+            }
+            out.println("/**");
+            out.println(" * Generated by " + AccessorProcessor.class.getName() + " for {@link " + beanName + "}");
+            out.println(" */");
+            out.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+            out.println("public final class " + simpleName + " implements com.bc.reflection.accessor.BeanAccessor {");
+            out.println();
+            out.print("    public static final String[] " + GenerateAccessor.PROPERTY_NAMES + " = {");
+            for(int i=0; i<array.length; i++) {
+                out.print((i == 0 ? "" : ", ") + '"' + array[i].name + '"');
+            }
+            out.println("};");
+            out.println();
+            out.print("    public static final Class<?>[] " + GenerateAccessor.PROPERTY_TYPES + " = {");
+            for(int i=0; i<array.length; i++) {
+                out.print((i == 0 ? "" : ", ") + types.erasure(this.typeOf(type, array[i])) + ".class");
+            }
+            out.println("};");
+            out.println();
+            out.println("    public " + simpleName + "() { }");
+            
+            out.println();
+            out.println("    @Override");
+            out.println("    public Object get(Object bean, int index) {");
+            out.println("        switch(index) {");
+            for(int i=0; i<array.length; i++) {
+                if(array[i].getter != null) {
+                    out.println("            case " + i + ": " + this.guard(array[i].getter, 
+                            "return " + read(beanName, array[i]) + ";"));
+                }
+            }
+            out.println("            default: throw new IllegalArgumentException(\"Not readable: \" + index + \" in class: " + beanName + "\");");
+            out.println("        }");
+            out.println("    }");
+            
+            out.println();
+            out.println("    @Override");
+            out.println("    public void set(Object bean, int index, Object value) {");
+            out.println("        switch(index) {");
+            for(int i=0; i<array.length; i++) {
+                final PropertyElements property = array[i];
+                final Element target = property.setter != null ? property.setter : 
+                        property.getter instanceof VariableElement && 
+                        !property.getter.getModifiers().contains(Modifier.FINAL) ? property.getter : null;
+                if(target == null) {
+                    continue;
+                }
+                final TypeMirror valueType = target == property.setter ? 
+                        this.parameterTypeOf(type, property.setter) : this.typeOf(type, property);
+                final String cast;
+                if(valueType.getKind().isPrimitive()) {
+                    // Widens as Method.invoke would e.g Integer to long
+                    final String primitive = valueType.getKind().name().toLowerCase();
+                    cast = "com.bc.reflection.accessor.Primitives.to" + 
+                            Character.toUpperCase(primitive.charAt(0)) + primitive.substring(1) + "(value)";
+                }else{
+                    cast = "(" + types.erasure(valueType) + ")value";
+                }
+                if(target == property.setter) {
+                    out.println("            case " + i + ": " + this.guard(target, "((" + beanName + ")bean)." + 
+                            target.getSimpleName() + "(" + cast + "); return;"));
+                }else{
+                    out.println("            case " + i + ": ((" + beanName + ")bean)." + 
+                            target.getSimpleName() + " = " + cast + "; return;");
+                }
+            }
+            out.println("            default: throw new IllegalArgumentException(\"Not writable: \" + index + \" in class: " + beanName + "\");");
+            out.println("        }");
+            out.println("    }");
+            
+            this.writePrimitiveGetter(out, "int", type, array, 
+                    TypeKind.INT, TypeKind.SHORT, TypeKind.BYTE, TypeKind.CHAR);
+            this.writePrimitiveGetter(out, "long", type, array, 
+                    TypeKind.LONG, TypeKind.INT, TypeKind.SHORT, TypeKind.BYTE, TypeKind.CHAR);
+            this.writePrimitiveGetter(out, "double", type, array, 
+                    TypeKind.DOUBLE, TypeKind.FLOAT, TypeKind.LONG, TypeKind.INT, TypeKind.SHORT, TypeKind.BYTE, TypeKind.CHAR);
+            this.writePrimitiveSetter(out, "int", type, array, 
+                    TypeKind.INT, TypeKind.LONG, TypeKind.FLOAT, TypeKind.DOUBLE);
+            this.writePrimitiveSetter(out, "long", type, array, 
+                    TypeKind.LONG, TypeKind.FLOAT, TypeKind.DOUBLE);
+            this.writePrimitiveSetter(out, "double", type, array, TypeKind.DOUBLE);
+            
+            out.println();
+            out.println("    private static RuntimeException rethrow(Exception e) {");
+            out.println("        return e instanceof RuntimeException ? (RuntimeException)e : new RuntimeException(e);");
+            out.println("    }");
+            
+            out.println("}");
+        }
+    }
+    
+    /**
+     * Writes the getter of the specified primitive type, for properties whose
+     * type may be widened to it without boxing
+     */
+    private void writePrimitiveGetter(PrintWriter out, String primitive, TypeElement type, 
+            PropertyElements [] array, TypeKind... widenable) {
+        final String beanName = processingEnv.getTypeUtils().erasure(type.asType()).toString();
+        final String methodName = "get" + Character.toUpperCase(primitive.charAt(0)) + primitive.substring(1);
+        out.println();
+        out.println("    @Override");
+        out.println("    public " + primitive + " " + methodName + "(Object bean, int index) {");
+        out.println("        switch(index) {");
+        for(int i=0; i<array.length; i++) {
+            if(array[i].getter == null) {
+                continue;
+            }
+            final TypeKind kind = this.typeOf(type, array[i]).getKind();
+            for(TypeKind each : widenable) {
+                if(each == kind) {
+                    out.println("            case " + i + ": " + this.guard(array[i].getter, 
+                            "return " + read(beanName, array[i]) + ";"));
+                    break;
+                }
+            }
+        }
+        out.println("            default: return com.bc.reflection.accessor.BeanAccessor.super." + methodName + "(bean, index);");
+        out.println("        }");
+        out.println("    }");
+    }
+    
+    /**
+     * Writes the setter of the specified primitive type, for properties whose
+     * type the primitive may be widened to without boxing
+     */
+    private void writePrimitiveSetter(PrintWriter out, String primitive, TypeElement type, 
+            PropertyElements [] array, TypeKind... widenable) {
+        final String beanName = processingEnv.getTypeUtils().erasure(type.asType()).toString();
+        final String methodName = "set" + Character.toUpperCase(primitive.charAt(0)) + primitive.substring(1);
+        out.println();
+        out.println("    @Override");
+        out.println("    public void " + methodName + "(Object bean, int index, " + primitive + " value) {");
+        out.println("        switch(index) {");
+        for(int i=0; i<array.length; i++) {
+            final PropertyElements property = array[i];
+            final TypeKind kind;
+            final String write;
+            if(property.setter != null) {
+                kind = this.parameterTypeOf(type, property.setter).getKind();
+                write = "((" + beanName + ")bean)." + property.setter.getSimpleName() + "(value)";
+            }else if(property.getter instanceof VariableElement && 
+                    !property.getter.getModifiers().contains(Modifier.FINAL)) {
+                kind = this.typeOf(type, property).getKind();
+                write = "((" + beanName + ")bean)." + property.getter.getSimpleName() + " = value";
+            }else{
+                continue;
+            }
+            for(TypeKind each : widenable) {
+                if(each == kind) {
+                    out.println("            case " + i + ": " + this.guard(
+                            property.setter != null ? property.setter : property.getter, write + "; return;"));
+                    break;
+                }
+            }
+        }
+        out.println("            default: com.bc.reflection.accessor.BeanAccessor.super." + methodName + "(bean, index, value);");
+        out.println("        }");
+        out.println("    }");
+    }
+    
+    /**
+     * Checked exceptions thrown by the member are wrapped in a RuntimeException,
+     * as by the accessors of {@link com.bc.reflection.accessor.AccessorFactory}
+     * @param member The method or field accessed by the statement
+     * @param statement The statement to guard
+     * @return The statement, within a try/catch if the member is a method 
+     * which declares checked exceptions
+     */
+    private String guard(Element member, String statement) {
+        if(!(member instanceof ExecutableElement)) {
+            return statement;
+        }
+        final Elements elements = processingEnv.getElementUtils();
+        final Types types = processingEnv.getTypeUtils();
+        final TypeMirror runtimeException = elements.getTypeElement(RuntimeException.class.getName()).asType();
+        final TypeMirror error = elements.getTypeElement(Error.class.getName()).asType();
+        for(TypeMirror thrownType : ((ExecutableElement)member).getThrownTypes()) {
+            if(!types.isAssignable(thrownType, runtimeException) && !types.isAssignable(thrownType, error)) {
+                return "try{ " + statement + " }catch(Exception e) { throw rethrow(e); }";
+            }
+        }
+        return statement;
+    }
+    
+    private static String read(String beanName, PropertyElements property) {
+        return "((" + beanName + ")bean)." + property.getter.getSimpleName() + 
+                (property.getter instanceof ExecutableElement ? "()" : "");
+    }
+    
+    /**
+     * @return The type of the property, as a member of the specified type, 
+     * hence with the type variables of supertypes resolved
+     */
+    private TypeMirror typeOf(TypeElement type, PropertyElements property) {
+        if(property.getter == null) {
+            return this.parameterTypeOf(type, property.setter);
+        }
+        final TypeMirror memberType = processingEnv.getTypeUtils().asMemberOf(
+                (DeclaredType)type.asType(), property.getter);
+        return property.getter instanceof ExecutableElement ? 
+                ((ExecutableType)memberType).getReturnType() : memberType;
+    }
+    
+    private TypeMirror parameterTypeOf(TypeElement type, ExecutableElement setter) {
+        return ((ExecutableType)processingEnv.getTypeUtils().asMemberOf(
+                (DeclaredType)type.asType(), setter)).getParameterTypes().get(0);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bc.reflection.processor;
+
+import com.bc.reflection.classpath.ClassPathIndex;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Writes the binary names of all the classes compiled, one per line, to the
+ * resource {@link ClassPathIndex#CLASS_INDEX_RESOURCE}. 
+ * {@link com.bc.reflection.function.FindClassesInPackage} reads this index 
+ * instead of scanning the class path root which contains it.
+ * <p>
+ * This processor is opt-in. It does nothing unless the option 
+ * {@link #OPTION_ENABLED} is <code>true</code>, 
+ * e.g <code>-Acom.bc.reflection.classIndex=true</code>
+ * </p>
+ * <p>
+ * The classes of a compilation are merged with those of any existing index 
+ * in the class output, whose class files still exist, so that incremental 
+ * builds which compile only some sources keep the index complete. Classes 
+ * without a source element, i.e anonymous and local classes, are not indexed.
+ * </p>
+ * @author Chinomso Bassey Ikwuagwu on Oct 20, 2018 2:18:55 PM
+ */
+public class ClassIndexProcessor extends AbstractProcessor {
+    
+    /**
+     * The processor option which enables this processor
+     */
+    public static final String OPTION_ENABLED = "com.bc.reflection.classIndex";
+    
+    private final Set<String> classNames = new TreeSet<>();
+
+    public ClassIndexProcessor() { }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        return Collections.singleton(OPTION_ENABLED);
+    }
+
+    /**
+     * @return All annotation types, hence all sources, if this processor is
+     * enabled, otherwise none.
+     */
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return this.isEnabled() ? Collections.singleton("*") : Collections.emptySet();
+    }
+    
+    private boolean isEnabled() {
+        return processingEnv != null && 
+                Boolean.parseBoolean(processingEnv.getOptions().get(OPTION_ENABLED));
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if(!this.isEnabled()) {
+            return false;
+        }
+        if(roundEnv.processingOver()) {
+            if(!classNames.isEmpty()) {
+                this.write();
+            }
+        }else{
+            for(TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+                this.add(type);
+            }
+        }
+        // Do not claim any annotations
+        return false;
+    }
+    
+    private void add(TypeElement type) {
+        classNames.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+        for(TypeElement enclosed : ElementFilter.typesIn(type.getEnclosedElements())) {
+            this.add(enclosed);
+        }
+    }
+    
+    /**
+     * Adds the classes of the existing index, if any, whose class files exist
+     */
+    private void merge() {
+        final Filer filer = processingEnv.getFiler();
+        final List<String> previous = new ArrayList<>();
+        try{
+            final FileObject file = filer.getResource(
+                    StandardLocation.CLASS_OUTPUT, "", ClassPathIndex.CLASS_INDEX_RESOURCE);
+            try(BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    file.openInputStream(), StandardCharsets.UTF_8))) {
+                for(String line; (line = reader.readLine()) != null; ) {
+                    line = line.trim();
+                    if(!line.isEmpty()) {
+                        previous.add(line);
+                    }
+                }
+            }
+        }catch(IOException | IllegalArgumentException noPreviousIndex) {
+            return;
+        }
+        for(String className : previous) {
+            if(classNames.contains(className)) {
+                continue;
+            }
+            final int n = className.lastIndexOf('.');
+            try{
+                final FileObject classFile = filer.getResource(StandardLocation.CLASS_OUTPUT, 
+                        n == -1 ? "" : className.substring(0, n), className.substring(n + 1) + ".class");
+                // Throws if the class file no longer exists
+                classFile.openInputStream().close();
+                classNames.add(className);
+            }catch(IOException | IllegalArgumentException deleted) { }
+        }
+    }
+    
+    private void write() {
+        this.merge();
+        try{
+            final FileObject file = processingEnv.getFiler().createResource(
+                    StandardLocation.CLASS_OUTPUT, "", ClassPathIndex.CLASS_INDEX_RESOURCE);
+            try(Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                for(String className : classNames) {
+                    writer.write(className);
+                    writer.write('\n');
+                }
+            }
+        }catch(IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, 
+                    "Failed to write class index " + ClassPathIndex.CLASS_INDEX_RESOURCE + ", " + e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bc.reflection;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2018 3:21:50 PM
+ */
+public class BeanMapperTest {
+    
+    public static class Contact {
+        private String firstName;
+        private String email;
+        public String getFirstName() { return firstName; }
+        public void setFirstName(String firstName) { this.firstName = firstName; }
+        public String getEmail() { return email; }
+        public void setEmail(String email) { this.email = email; }
+    }
+    
+    public BeanMapperTest() { }
+
+    @Test
+    public void testToMap() {
+        System.out.println("toMap");
+        final Person person = new Person();
+        person.setFirstName("Nomso");
+        person.setAlive(Boolean.TRUE);
+        final Map<String, Object> result = new BeanMapper().toMap(person);
+        assertEquals(7, result.size());
+        assertEquals("Nomso", result.get("firstName"));
+        assertEquals(Boolean.TRUE, result.get("alive"));
+        assertTrue(result.containsKey("dateOfBirth"));
+        assertNull(result.get("dateOfBirth"));
+    }
+
+    @Test
+    public void testPopulate() {
+        System.out.println("populate");
+        final Date date = new Date();
+        final Map<String, Object> values = new HashMap<>();
+        values.put("surName", "Ikwuagwu");
+        values.put("dateOfBirth", date);
+        values.put("unknown", "ignored");
+        final Person person = new BeanMapper().populate(new Person(), values);
+        assertEquals("Ikwuagwu", person.getSurName());
+        assertEquals(date, person.getDateOfBirth());
+    }
+
+    @Test
+    public void testCopyProperties() {
+        System.out.println("copyProperties");
+        final Person source = new Person();
+        source.setFirstName("Chinomso");
+        source.setOtherName("Bassey");
+        source.setChildren(Arrays.asList(new Person()));
+        final BeanMapper instance = new BeanMapper();
+        final Person target = instance.copyProperties(source, new Person());
+        assertEquals(instance.toMap(source), instance.toMap(target));
+        assertSame(source.getChildren(), target.getChildren());
+    }
+
+    @Test
+    public void testCopyPropertiesGivenDifferentTypes() {
+        System.out.println("copyProperties given different types");
+        final Person person = new Person();
+        person.setFirstName("Chinomso");
+        final BeanMapper instance = new BeanMapper();
+        final Contact contact = instance.copyProperties(person, new Contact());
+        assertEquals("Chinomso", contact.getFirstName());
+        assertNull(contact.getEmail());
+        contact.setFirstName("Nomso");
+        assertEquals("Nomso", instance.copyProperties(contact, new Person()).getFirstName());
+        assertEquals("Nomso", instance.copyProperties(contact, person).getFirstName());
+    }
+}
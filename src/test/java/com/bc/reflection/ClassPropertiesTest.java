@@ -0,0 +1,162 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bc.reflection;
+
+import java.lang.reflect.Method;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2018 10:02:31 AM
+ */
+public class ClassPropertiesTest {
+    
+    public interface Named {
+        String getName();
+        default String getDisplayName() { return "Named: " + getName(); }
+    }
+    
+    public static class Base<T> implements Named {
+        private T id;
+        private String name;
+        public T getId() { return id; }
+        public void setId(T id) { this.id = id; }
+        @Override
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        private String getSecret() { return "secret"; }
+    }
+    
+    public static class Derived extends Base<Long> {
+        private int rank;
+        @Override
+        public Long getId() { return super.getId(); }
+        @Override
+        public void setId(Long id) { super.setId(id); }
+        public int getRank() { return rank; }
+        public void setRank(int rank) { this.rank = rank; }
+    }
+    
+    public static class Link {
+        public String URL;
+        public int Count;
+        private String Title;
+        public String getTitle() { return Title; }
+        public void setTitle(String title) { this.Title = title; }
+    }
+    
+    public ClassPropertiesTest() { }
+
+    @Test
+    public void testOf() {
+        System.out.println("of");
+        final ClassProperties result = ClassProperties.of(Person.class);
+        assertSame(result, ClassProperties.of(Person.class));
+        assertEquals(Person.class, result.getType());
+        assertEquals(7, result.size());
+    }
+
+    @Test
+    public void testGetProperty() throws Exception {
+        System.out.println("getProperty");
+        final ClassProperties instance = ClassProperties.of(Person.class);
+        final Property property = instance.getProperty("dateOfBirth");
+        assertNotNull(property);
+        assertSame(property, instance.getProperty("DateOfBirth"));
+        assertSame(property, instance.getProperty(property.getIndex()));
+        assertEquals("dateOfBirth", property.getName());
+        assertEquals(Person.class.getMethod("getDateOfBirth"), property.getGetter());
+        assertEquals(Person.class.getMethod("setDateOfBirth", java.util.Date.class), property.getSetter());
+        assertNull(instance.getProperty("dateofbirth"));
+        assertNull(instance.getProperty(""));
+    }
+
+    @Test
+    public void testGetMethodMatchesReflectionUtil() {
+        System.out.println("getMethod");
+        final ClassProperties instance = ClassProperties.of(Person.class);
+        final ReflectionUtil reflection = new ReflectionUtil();
+        final Method [] methods = Person.class.getDeclaredMethods();
+        for(String name : new String[]{"alive", "firstName", "parent", "children", "unknown"}) {
+            assertEquals(reflection.getMethod(false, methods, name), instance.getMethod(false, name));
+            assertEquals(reflection.getMethod(true, methods, name), instance.getMethod(true, name));
+        }
+    }
+
+    @Test
+    public void testGetPropertyIgnoringCaseAndUnderscores() {
+        System.out.println("getProperty ignoring case and underscores");
+        final ClassProperties instance = ClassProperties.of(Person.class);
+        final Property property = instance.getProperty("dateOfBirth");
+        assertSame(property, instance.getProperty("DATEOFBIRTH", true, false));
+        assertSame(property, instance.getProperty("date_Of_Birth", false, true));
+        assertSame(property, instance.getProperty("DATE_OF_BIRTH", true, true));
+        assertNull(instance.getProperty("date_of_birth", false, true));
+        assertNull(instance.getProperty("date_of_birth", true, false));
+        assertNull(instance.getProperty("date_of_birthx", true, true));
+        assertNull(instance.getProperty(null, true, true));
+        
+        final ReflectionUtil reflection = new ReflectionUtil();
+        final Method [] methods = Person.class.getDeclaredMethods();
+        for(String name : new String[]{"first_Name", "_alive", "date_of_birth", "unknown"}) {
+            assertEquals(reflection.getMethodAlphaNumeric(false, methods, name), 
+                    reflection.getMethodAlphaNumeric(false, Person.class, name));
+            assertEquals(reflection.getMethodAlphaNumeric(true, methods, name), 
+                    reflection.getMethodAlphaNumeric(true, Person.class, name));
+        }
+    }
+
+    @Test
+    public void testInheritedProperties() throws Exception {
+        System.out.println("inherited properties");
+        final ClassProperties instance = ClassProperties.of(Derived.class);
+        assertEquals(4, instance.size());
+        assertEquals(Derived.class.getMethod("getId"), instance.getProperty("id").getGetter());
+        assertEquals(Derived.class.getMethod("setId", Long.class), instance.getProperty("id").getSetter());
+        assertEquals(Base.class.getMethod("getName"), instance.getProperty("name").getGetter());
+        assertEquals(Named.class.getMethod("getDisplayName"), instance.getProperty("displayName").getGetter());
+        assertNull(instance.getProperty("secret"));
+        assertNotNull(ClassProperties.of(Base.class).getProperty("secret"));
+        
+        final Derived bean = new Derived();
+        final ReflectionUtil reflection = new ReflectionUtil();
+        reflection.setValue(bean, "id", 7L);
+        reflection.setValue(bean, "name", "Seven");
+        assertEquals(7L, reflection.getValue(bean, "id"));
+        assertEquals("Named: Seven", reflection.getValue(bean, "displayName"));
+    }
+
+    @Test
+    public void testFieldsGivenUpperCaseNames() throws Exception {
+        System.out.println("fields given upper case names");
+        final ClassProperties instance = ClassProperties.of(Link.class);
+        assertEquals(3, instance.size());
+        final Property url = instance.getProperty("URL");
+        assertEquals("URL", url.getName());
+        assertEquals(Link.class.getField("URL"), url.getField());
+        assertTrue(url.isFieldOnly());
+        assertEquals(Link.class.getField("Count"), instance.getProperty("Count").getField());
+        assertEquals(Link.class.getDeclaredField("Title"), instance.getProperty("title").getField());
+        
+        final Link link = new Link();
+        final ReflectionUtil reflection = new ReflectionUtil();
+        reflection.setValue(link, "URL", "http://www.looseboxes.com");
+        reflection.setValue(link, "Count", 3);
+        assertEquals("http://www.looseboxes.com", reflection.getValue(link, "URL"));
+        assertEquals(3, reflection.getValue(link, "Count"));
+        assertEquals(3, reflection.getInt(link, "Count"));
+    }
+}
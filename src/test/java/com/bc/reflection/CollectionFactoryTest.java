@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection;
+
+import com.bc.reflection.accessor.AccessorFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * @author Chinomso Bassey Ikwuagwu on Oct 21, 2018 5:40:55 PM
+ */
+public class CollectionFactoryTest {
+    
+    public CollectionFactoryTest() { }
+
+    @Test
+    public void testNewInstance() {
+        System.out.println("newInstance");
+        final CollectionFactory instance = new CollectionFactory();
+        assertEquals(ArrayList.class, instance.newInstance(List.class, 100).getClass());
+        assertEquals(ArrayList.class, instance.newInstance(Collection.class, 0).getClass());
+        assertEquals(LinkedHashSet.class, instance.newInstance(Set.class, 100).getClass());
+        assertEquals(TreeSet.class, instance.newInstance(SortedSet.class, 100).getClass());
+        assertEquals(LinkedHashMap.class, instance.newInstance(Map.class, 100).getClass());
+        assertEquals(HashMap.class, instance.newInstance(HashMap.class, 100).getClass());
+        assertEquals(LinkedHashSet.class, instance.newInstance(Set.class, TimeUnit.class, 4).getClass());
+    }
+
+    @Test
+    public void testRegister() {
+        System.out.println("register");
+        final CollectionFactory instance = new CollectionFactory();
+        assertNull(instance.register(Set.class, CollectionFactory.ENUM_SET));
+        assertNull(instance.register(Map.class, CollectionFactory.ENUM_MAP));
+        assertNull(instance.register(List.class, (elementType, size) -> 
+                size == 0 ? Collections.emptyList() : null));
+        assertTrue(instance.newInstance(Set.class, TimeUnit.class, 4) instanceof EnumSet);
+        assertEquals(LinkedHashSet.class, instance.newInstance(Set.class, String.class, 4).getClass());
+        assertEquals(EnumMap.class, instance.newInstance(Map.class, TimeUnit.class, 4).getClass());
+        assertSame(Collections.emptyList(), instance.newInstance(List.class, 0));
+        assertEquals(ArrayList.class, instance.newInstance(List.class, 1).getClass());
+        assertNotNull(instance.unregister(List.class));
+        assertEquals(ArrayList.class, instance.newInstance(List.class, 0).getClass());
+        
+        final ReflectionUtil reflection = new ReflectionUtil(
+                AccessorFactory.getDefault(), instance);
+        assertTrue(reflection.newInstanceForCollectionType(Set.class, TimeUnit.class, 2) instanceof EnumSet);
+    }
+    
+    @Test(expected = UnsupportedOperationException.class)
+    public void testNewInstanceGivenUnsupportedType() {
+        System.out.println("newInstance given unsupported type");
+        new CollectionFactory().newInstance(Runnable.class, 1);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testRegisterGivenDefault() {
+        System.out.println("register given default");
+        CollectionFactory.getDefault().register(Set.class, CollectionFactory.ENUM_SET);
+    }
+}
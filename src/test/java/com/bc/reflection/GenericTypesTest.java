@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection;
+
+import com.bc.reflection.function.MethodHasParameterType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * @author Chinomso Bassey Ikwuagwu on Oct 22, 2018 9:48:30 AM
+ */
+public class GenericTypesTest {
+    
+    public GenericTypesTest() { }
+
+    @Test
+    public void testGetReturnTypeArguments() throws Exception {
+        System.out.println("getReturnTypeArguments");
+        final Method getter = Person.class.getMethod("getChildren");
+        final Type [] result = GenericTypes.getReturnTypeArguments(getter);
+        assertArrayEquals(new Type[]{Person.class}, result);
+        result[0] = null;
+        assertArrayEquals(new Type[]{Person.class}, GenericTypes.getReturnTypeArguments(getter));
+        assertEquals(Person.class, GenericTypes.getReturnTypeArgument(getter, 0));
+        assertNull(GenericTypes.getReturnTypeArgument(getter, 1));
+        assertNull(GenericTypes.getReturnTypeArguments(Person.class.getMethod("getFirstName")));
+    }
+
+    @Test
+    public void testGetParameterTypeArguments() throws Exception {
+        System.out.println("getParameterTypeArguments");
+        final Method setter = Person.class.getMethod("setChildren", List.class);
+        final List<Type[]> result = GenericTypes.getParameterTypeArguments(setter);
+        assertEquals(1, result.size());
+        assertArrayEquals(new Type[]{Person.class}, result.get(0));
+        assertEquals(Person.class, GenericTypes.getParameterTypeArgument(setter, 0, 0));
+        assertNull(GenericTypes.getParameterTypeArgument(setter, 1, 0));
+        assertTrue(new MethodHasParameterType(Person.class, true).test(setter));
+        assertFalse(new MethodHasParameterType(String.class, true).test(setter));
+    }
+
+    @Test
+    public void testGetTypeArguments() throws Exception {
+        System.out.println("getTypeArguments");
+        final Field field = Person.class.getDeclaredField("children");
+        assertArrayEquals(new Type[]{Person.class}, GenericTypes.getTypeArguments(field));
+        assertEquals(Person.class, GenericTypes.getTypeArgument(field, 0));
+        assertEquals(0, GenericTypes.getTypeArguments(Person.class.getDeclaredField("firstName")).length);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bc.reflection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2018 4:51:03 PM
+ */
+public class PropertyExtractorTest {
+    
+    public PropertyExtractorTest() { }
+    
+    private List<Product> products(int count) {
+        final List<Product> output = new ArrayList<>(count);
+        for(int i=0; i<count; i++) {
+            output.add(new Product(i, i * 2, i / 2.0, "product" + i));
+        }
+        return output;
+    }
+
+    @Test
+    public void testExtract() {
+        System.out.println("extract");
+        final Object [] result = new PropertyExtractor().extract(products(3), "name");
+        assertArrayEquals(new Object[]{"product0", "product1", "product2"}, result);
+    }
+
+    @Test
+    public void testExtractPrimitives() {
+        System.out.println("extractInt/extractLong/extractDouble");
+        final PropertyExtractor instance = new PropertyExtractor();
+        final List<Product> products = products(3);
+        assertArrayEquals(new int[]{0, 2, 4}, instance.extractInt(products, "quantity"));
+        assertArrayEquals(new long[]{0, 1, 2}, instance.extractLong(products, "id"));
+        assertArrayEquals(new long[]{0, 2, 4}, instance.extractLong(products, "quantity"));
+        assertArrayEquals(new double[]{0, 0.5, 1}, instance.extractDouble(products, "price"), 0.0);
+    }
+
+    @Test
+    public void testExtractParallel() {
+        System.out.println("extract parallel");
+        final int count = 20_000;
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try{
+            final PropertyExtractor instance = new PropertyExtractor(pool, 1000);
+            final int [] result = instance.extractInt(products(count), "quantity");
+            assertEquals(count, result.length);
+            for(int i=0; i<count; i++) {
+                assertEquals(i * 2, result[i]);
+            }
+        }finally{
+            pool.shutdown();
+        }
+    }
+
+    public static class Faulty {
+        public String getName() {
+            throw new IllegalArgumentException("Faulty getter");
+        }
+    }
+
+    @Test
+    public void testExtractGivenGetterThrowsIllegalArgumentException() {
+        System.out.println("extract given getter throws IllegalArgumentException");
+        try{
+            new PropertyExtractor().extract(Collections.singletonList(new Faulty()), "name");
+            fail("Expected UnsupportedOperationException");
+        }catch(UnsupportedOperationException e) {
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+            assertEquals("Faulty getter", e.getCause().getMessage());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExtractGivenUnknownName() {
+        System.out.println("extract unknown name");
+        new PropertyExtractor().extract(products(1), "unknown");
+    }
+}
@@ -15,11 +15,23 @@
  */
 package com.bc.reflection;
 
+import com.bc.reflection.accessor.AccessorFactory;
+import com.bc.reflection.accessor.BytecodeAccessorFactory;
+import com.bc.reflection.accessor.FieldAccessorFactory;
+import com.bc.reflection.accessor.LambdaAccessorFactory;
+import com.bc.reflection.accessor.MethodHandleAccessorFactory;
+import com.bc.reflection.accessor.ReflectionAccessorFactory;
+import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.concurrent.ConcurrentMap;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -33,6 +45,11 @@ import static org.junit.Assert.*;
  */
 public class ReflectionUtilTest {
     
+    public static class Remote {
+        public long getId() throws IOException { throw new IOException(); }
+        public void setId(long id) throws IOException { throw new IOException(); }
+    }
+    
     public ReflectionUtilTest() {
     }
     
@@ -59,6 +76,20 @@ public class ReflectionUtilTest {
         this.testNewInstanceForCollectionType(Set.class);
         this.testNewInstanceForCollectionType(Collection.class);
         this.testNewInstanceForCollectionType(Map.class);
+        this.testNewInstanceForCollectionType(SortedSet.class);
+        this.testNewInstanceForCollectionType(Queue.class);
+        this.testNewInstanceForCollectionType(NavigableMap.class);
+        this.testNewInstanceForCollectionType(ConcurrentMap.class);
+        this.testNewInstanceForCollectionType(HashSet.class);
+        final ReflectionUtil instance = new ReflectionUtil();
+        assertNotSame(instance.newInstanceForCollectionType(List.class), 
+                instance.newInstanceForCollectionType(List.class));
+    }
+    
+    @Test(expected = UnsupportedOperationException.class)
+    public void testNewInstanceForCollectionTypeGivenUnsupportedType() {
+        System.out.println("newInstanceForCollectionType given unsupported type");
+        new ReflectionUtil().newInstanceForCollectionType(Runnable.class);
     }
     public void testNewInstanceForCollectionType(Class type) {
         final ReflectionUtil instance = new ReflectionUtil();
@@ -94,6 +125,106 @@ public class ReflectionUtilTest {
         System.out.println("   Found: " + result);
         assertEquals(expResult, result);
     }
+
+    /**
+     * Test of getValue and setValue methods, of class ReflectionUtil.
+     */
+    @Test
+    public void testGetAndSetValue() {
+        System.out.println("getValue/setValue");
+        final ReflectionUtil instance = new ReflectionUtil();
+        final Person person = new Person();
+        instance.setValue(person, "firstName", "Chinomso");
+        instance.setValue(person, "Alive", Boolean.TRUE);
+        assertEquals("Chinomso", person.getFirstName());
+        assertEquals("Chinomso", instance.getValue(person, "firstName"));
+        assertEquals("Chinomso", instance.getValue(person, "FirstName"));
+        assertEquals(Boolean.TRUE, instance.getValue(person, "alive"));
+        assertNull(instance.getValue(person, "surName"));
+    }
+
+    /**
+     * Boxed values are widened for primitive setters, as by Method.invoke
+     */
+    @Test
+    public void testSetValueWidensPrimitives() {
+        System.out.println("setValue widening");
+        for(AccessorFactory accessorFactory : new AccessorFactory[]{AccessorFactory.getDefault(),
+                new LambdaAccessorFactory(), new MethodHandleAccessorFactory(), 
+                new ReflectionAccessorFactory(), FieldAccessorFactory.forAllProperties()}) {
+            final ReflectionUtil instance = new ReflectionUtil(accessorFactory);
+            final Product product = new Product();
+            instance.setValue(product, "id", 5);
+            instance.setValue(product, "price", 3);
+            assertEquals(5L, product.getId());
+            assertEquals(3.0, product.getPrice(), 0.0);
+        }
+    }
+
+    /**
+     * Checked exceptions thrown by getters and setters are wrapped
+     */
+    @Test
+    public void testGetAndSetValueGivenCheckedException() {
+        System.out.println("getValue/setValue checked exception");
+        for(AccessorFactory accessorFactory : new AccessorFactory[]{AccessorFactory.getDefault(),
+                new LambdaAccessorFactory(), new MethodHandleAccessorFactory(), 
+                new ReflectionAccessorFactory(), new BytecodeAccessorFactory()}) {
+            final ReflectionUtil instance = new ReflectionUtil(accessorFactory);
+            try{
+                instance.getValue(new Remote(), "id");
+                fail("Expected exception");
+            }catch(UnsupportedOperationException expected) { }
+            try{
+                instance.setValue(new Remote(), "id", 1L);
+                fail("Expected exception");
+            }catch(UnsupportedOperationException expected) { }
+            try{
+                instance.getLong(new Remote(), "id");
+                fail("Expected exception");
+            }catch(UnsupportedOperationException expected) { }
+            try{
+                instance.setInt(new Remote(), "id", 1);
+                fail("Expected exception");
+            }catch(UnsupportedOperationException expected) { }
+        }
+    }
+    
+    /**
+     * Test of the primitive get and set methods, of class ReflectionUtil.
+     */
+    @Test
+    public void testGetAndSetPrimitive() {
+        System.out.println("getInt/setInt");
+        for(ReflectionUtil instance : new ReflectionUtil[]{new ReflectionUtil(), 
+                new ReflectionUtil(new LambdaAccessorFactory()),
+                new ReflectionUtil(new MethodHandleAccessorFactory()),
+                new ReflectionUtil(new ReflectionAccessorFactory()),
+                new ReflectionUtil(new BytecodeAccessorFactory())}) {
+            final Product product = new Product();
+            instance.setInt(product, "quantity", 3);
+            instance.setInt(product, "id", 7);
+            instance.setLong(product, "price", 2L);
+            instance.setDouble(product, "price", instance.getDouble(product, "price") + 0.5);
+            assertEquals(3, product.getQuantity());
+            assertEquals(7L, product.getId());
+            assertEquals(2.5, product.getPrice(), 0.0);
+            assertEquals(3, instance.getInt(product, "quantity"));
+            assertEquals(3L, instance.getLong(product, "quantity"));
+            assertEquals(7L, instance.getLong(product, "id"));
+            assertEquals(2.5, instance.getDouble(product, "price"), 0.0);
+            try{
+                instance.setInt(product, "name", 1);
+                fail("Expected exception for property of wrong type");
+            }catch(UnsupportedOperationException expected) { }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetValueGivenUnknownName() {
+        System.out.println("getValue unknown name");
+        new ReflectionUtil().getValue(new Person(), "unknown");
+    }
 }
 
 /**
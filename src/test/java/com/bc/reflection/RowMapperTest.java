@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection;
+
+import com.bc.reflection.naming.NamingStrategy;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * @author Chinomso Bassey Ikwuagwu on Oct 21, 2018 2:58:03 PM
+ */
+public class RowMapperTest {
+    
+    public RowMapperTest() { }
+
+    @Test
+    public void testMap() {
+        System.out.println("map");
+        final RowMapper<Product> instance = RowMapper.compile(Product.class, 
+                Arrays.asList("ID", "NAME", "UNKNOWN", "PRICE", "QUANTITY"), 
+                NamingStrategy.UPPER_SNAKE_CASE);
+        assertTrue(instance.isMapped(0));
+        assertFalse(instance.isMapped(2));
+        final List<Product> result = instance.mapAll(Arrays.asList(
+                new Object[]{1L, "Pen", "ignored", 2.5, 10},
+                new Object[]{2L, "Ink", null, 4.0, 3}));
+        assertEquals(2, result.size());
+        assertEquals(1L, result.get(0).getId());
+        assertEquals("Pen", result.get(0).getName());
+        assertEquals(2.5, result.get(0).getPrice(), 0.0);
+        assertEquals(10, result.get(0).getQuantity());
+        assertEquals("Ink", result.get(1).getName());
+        assertNotSame(result.get(0), result.get(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMapGivenShortRow() {
+        System.out.println("map given short row");
+        RowMapper.compile(Product.class, Arrays.asList("id", "name")).map(new Object[]{1L});
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testMapGivenWrongType() {
+        System.out.println("map given wrong type");
+        RowMapper.compile(Product.class, Arrays.asList("id")).map(new Object[]{"one"});
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * @author Chinomso Bassey Ikwuagwu on Oct 22, 2018 12:20:14 PM
+ */
+public class TypeResolverTest {
+    
+    public static class BaseEntity<T> {
+        public T getId() { return null; }
+        public List<T> getIds() { return null; }
+        public Map<String, T> getById() { return null; }
+        public T [] getIdArray() { return null; }
+        public List<? extends T> getItems() { return null; }
+        public void setSinks(List<? super T> sinks) { }
+    }
+    
+    public static class NamedEntity<N, T> extends BaseEntity<T> {
+        public List<N> getNames() { return null; }
+    }
+    
+    public static class Names extends ArrayList<String> { 
+        private static final long serialVersionUID = 1L;
+    }
+    
+    public static class Account extends NamedEntity<String, Long> {
+        public Names getAliases() { return null; }
+        public List<Map<String, Integer>> getScores() { return null; }
+    }
+    
+    public TypeResolverTest() { }
+
+    @Test
+    public void testGetElementType() {
+        System.out.println("getElementType");
+        final TypeResolver instance = TypeResolver.of(Account.class);
+        assertSame(instance, TypeResolver.of(Account.class));
+        assertEquals(Long.class, instance.getElementType("ids"));
+        assertEquals(Long.class, instance.getElementType("byId"));
+        assertEquals(Long.class, instance.getElementType("idArray"));
+        assertEquals(String.class, instance.getElementType("names"));
+        assertEquals(String.class, instance.getElementType("aliases"));
+        assertEquals(Map.class, instance.getElementType("scores"));
+        assertNull(instance.getElementType("id"));
+        assertNull(instance.getElementType("unknown"));
+        assertNull(TypeResolver.of(BaseEntity.class).getElementType("ids"));
+    }
+
+    @Test
+    public void testGetElementTypeGivenWildcard() {
+        System.out.println("getElementType given wildcard");
+        final TypeResolver instance = TypeResolver.of(Account.class);
+        assertEquals(Long.class, instance.getElementType("items"));
+        assertEquals(Long.class, instance.getElementType("sinks"));
+        final Type items = instance.getPropertyType("items");
+        final Type argument = ((ParameterizedType)items).getActualTypeArguments()[0];
+        assertTrue(argument instanceof WildcardType);
+        assertArrayEquals(new Type[]{Long.class}, ((WildcardType)argument).getUpperBounds());
+        assertEquals("? extends java.lang.Long", argument.getTypeName());
+        assertNull(TypeResolver.of(BaseEntity.class).getElementType("items"));
+    }
+
+    @Test
+    public void testGetPropertyType() {
+        System.out.println("getPropertyType");
+        final TypeResolver instance = TypeResolver.of(Account.class);
+        assertEquals(Long.class, instance.getPropertyType("id"));
+        assertEquals(Long[].class, instance.getPropertyType("idArray"));
+        final Type ids = instance.getPropertyType("ids");
+        assertTrue(ids instanceof ParameterizedType);
+        assertEquals(List.class, ((ParameterizedType)ids).getRawType());
+        assertArrayEquals(new Type[]{Long.class}, ((ParameterizedType)ids).getActualTypeArguments());
+        assertNull(instance.getPropertyType("unknown"));
+    }
+
+    @Test
+    public void testResolveTypeArgument() throws Exception {
+        System.out.println("resolveTypeArgument");
+        final TypeResolver instance = TypeResolver.of(Account.class);
+        final Type scores = Account.class.getMethod("getScores").getGenericReturnType();
+        assertEquals(scores, instance.resolve(scores));
+        final Type element = instance.resolveTypeArgument(scores, Iterable.class, 0);
+        assertEquals(Map.class, TypeResolver.getRawType(element));
+        assertEquals(Integer.class, instance.resolveTypeArgument(element, Map.class, 1));
+        assertNull(instance.resolveTypeArgument(scores, Map.class, 0));
+    }
+}
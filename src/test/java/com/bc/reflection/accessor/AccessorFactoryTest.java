@@ -0,0 +1,186 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bc.reflection.accessor;
+
+import com.bc.reflection.ClassProperties;
+import com.bc.reflection.Person;
+import com.bc.reflection.ReflectionUtil;
+import java.util.Date;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * @author Chinomso Bassey Ikwuagwu on Oct 18, 2018 1:15:09 PM
+ */
+public class AccessorFactoryTest {
+    
+    static class Item {
+        private int quantity;
+        int getQuantity() { return quantity; }
+        void setQuantity(int quantity) { this.quantity = quantity; }
+    }
+    
+    static class Point {
+        public int x;
+        long y;
+        final String label = "origin";
+    }
+    
+    static class Counter {
+        private int count;
+        public int getCount() { return count; }
+        public void setCount(int count) { this.count = count * 10; }
+    }
+    
+    public static class Vector {
+        public double magnitude;
+        private long id;
+        private String name;
+        public long getId() { return id; }
+        public void setId(long id) { this.id = id; }
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+    }
+    
+    public AccessorFactoryTest() { }
+
+    @Test
+    public void testReflectionAccessorFactory() {
+        System.out.println("ReflectionAccessorFactory");
+        this.testAccessorFactory(new ReflectionAccessorFactory());
+    }
+
+    @Test
+    public void testMethodHandleAccessorFactory() {
+        System.out.println("MethodHandleAccessorFactory");
+        this.testAccessorFactory(new MethodHandleAccessorFactory());
+    }
+
+    @Test
+    public void testLambdaAccessorFactory() {
+        System.out.println("LambdaAccessorFactory");
+        this.testAccessorFactory(new LambdaAccessorFactory());
+    }
+    
+    @Test
+    public void testBytecodeAccessorFactory() {
+        System.out.println("BytecodeAccessorFactory");
+        final BytecodeAccessorFactory instance = new BytecodeAccessorFactory();
+        this.testAccessorFactory(instance);
+        assertTrue(instance.getAccessor(Person.class) instanceof GeneratedBeanAccessor);
+        assertFalse(instance.getAccessor(Item.class) instanceof GeneratedBeanAccessor);
+        
+        final BeanAccessor accessor = instance.getAccessor(Vector.class);
+        assertTrue(accessor instanceof GeneratedBeanAccessor);
+        final ClassProperties properties = ClassProperties.of(Vector.class);
+        final int magnitude = properties.getProperty("magnitude").getIndex();
+        final int id = properties.getProperty("id").getIndex();
+        final int name = properties.getProperty("name").getIndex();
+        final Vector vector = new Vector();
+        accessor.set(vector, magnitude, 2.5);
+        accessor.set(vector, id, 9L);
+        accessor.set(vector, name, "v");
+        assertEquals(2.5, vector.magnitude, 0.0);
+        assertEquals(9L, vector.getId());
+        assertEquals("v", accessor.get(vector, name));
+        assertEquals(9L, accessor.get(vector, id));
+        assertEquals(2.5, accessor.getDouble(vector, magnitude), 0.0);
+        try{
+            accessor.set(vector, id, "not a long");
+            fail("Expected exception for value of wrong type");
+        }catch(ClassCastException expected) { }
+        try{
+            accessor.get(vector, properties.size());
+            fail("Expected exception for index out of range");
+        }catch(RuntimeException expected) { }
+    }
+
+    @Test
+    public void testFieldAccess() {
+        System.out.println("field access");
+        
+        final ClassProperties properties = ClassProperties.of(Point.class);
+        assertEquals(3, properties.size());
+        assertTrue(properties.getProperty("x").isFieldOnly());
+        assertTrue(properties.getProperty("label").isReadable());
+        assertFalse(properties.getProperty("label").isWritable());
+        
+        final BeanAccessor accessor = AccessorFactory.getDefault().getAccessor(Point.class);
+        final Point point = new Point();
+        final int x = properties.getProperty("x").getIndex();
+        final int y = properties.getProperty("y").getIndex();
+        accessor.set(point, x, 3);
+        accessor.set(point, y, 4L);
+        assertEquals(3, point.x);
+        assertEquals(4L, point.y);
+        assertEquals(3, accessor.getInt(point, x));
+        assertEquals(4L, accessor.getLong(point, y));
+        assertEquals("origin", accessor.get(point, properties.getProperty("label").getIndex()));
+        
+        final ReflectionUtil reflection = new ReflectionUtil();
+        reflection.setValue(point, "x", 9);
+        assertEquals(9, reflection.getValue(point, "x"));
+        try{
+            reflection.setValue(point, "label", "other");
+            fail("Expected exception for final field");
+        }catch(IllegalArgumentException expected) { }
+        
+        final int count = ClassProperties.of(Counter.class).getProperty("count").getIndex();
+        final Counter counter = new Counter();
+        AccessorFactory.getDefault().getAccessor(Counter.class).set(counter, count, 2);
+        assertEquals(20, counter.getCount());
+        
+        for(AccessorFactory instance : new AccessorFactory[]{
+                FieldAccessorFactory.forAllProperties(),
+                FieldAccessorFactory.forClasses(Counter.class),
+                FieldAccessorFactory.forProperties((property) -> property.getName().equals("count"))}) {
+            instance.getAccessor(Counter.class).set(counter, count, 5);
+            assertEquals(5, counter.getCount());
+            assertEquals(5, instance.getAccessor(Counter.class).getInt(counter, count));
+        }
+        
+        this.testAccessorFactory(FieldAccessorFactory.forClasses(Item.class));
+    }
+    
+    private void testAccessorFactory(AccessorFactory instance) {
+        
+        final BeanAccessor accessor = instance.getAccessor(Person.class);
+        assertSame(accessor, instance.getAccessor(Person.class));
+        
+        final ClassProperties properties = ClassProperties.of(Person.class);
+        final int dateOfBirth = properties.getProperty("dateOfBirth").getIndex();
+        final int alive = properties.getProperty("alive").getIndex();
+        
+        final Person person = new Person();
+        final Date date = new Date();
+        accessor.set(person, dateOfBirth, date);
+        accessor.set(person, alive, Boolean.FALSE);
+        assertEquals(date, person.getDateOfBirth());
+        assertEquals(date, accessor.get(person, dateOfBirth));
+        assertEquals(Boolean.FALSE, accessor.get(person, alive));
+        
+        try{
+            accessor.set(person, dateOfBirth, "not a date");
+            fail("Expected exception for value of wrong type");
+        }catch(RuntimeException expected) { }
+        
+        final int quantity = ClassProperties.of(Item.class).getProperty("quantity").getIndex();
+        final Item item = new Item();
+        instance.getAccessor(Item.class).set(item, quantity, 7);
+        assertEquals(7, item.getQuantity());
+        assertEquals(7, instance.getAccessor(Item.class).get(item, quantity));
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection.accessor;
+
+import com.bc.reflection.ClassProperties;
+import java.io.IOException;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * @author Chinomso Bassey Ikwuagwu on Oct 24, 2018 11:20:37 AM
+ */
+public class BytecodeAccessorFactoryTest {
+    
+    public static class Measure {
+        public long total;
+        private double average;
+        private short scale;
+        public double getAverage() { return average; }
+        public void setAverage(double average) { this.average = average; }
+        public short getScale() { return scale; }
+        public void setScale(short scale) { this.scale = scale; }
+    }
+    
+    public static class Remote {
+        private long id;
+        private String name;
+        public long getId() throws IOException { throw new IOException("id"); }
+        public void setId(long id) throws IOException { throw new IOException("id"); }
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+    }
+    
+    public interface Named {
+        String getName();
+        void setName(String name);
+    }
+    
+    public static class NamedImpl implements Named {
+        private String name;
+        @Override
+        public String getName() { return name; }
+        @Override
+        public void setName(String name) { this.name = name; }
+    }
+    
+    public BytecodeAccessorFactoryTest() { }
+
+    @Test
+    public void testGetAccessorGivenInterface() {
+        System.out.println("getAccessor given interface");
+        final BeanAccessor accessor = new BytecodeAccessorFactory().getAccessor(Named.class);
+        assertFalse(accessor instanceof GeneratedBeanAccessor);
+        final int name = ClassProperties.of(Named.class).getProperty("name").getIndex();
+        final Named named = new NamedImpl();
+        accessor.set(named, name, "named");
+        assertEquals("named", accessor.get(named, name));
+    }
+
+    @Test
+    public void testGetAccessorCreatesFallbackOnFirstUse() {
+        System.out.println("getAccessor creates fallback on first use");
+        final BytecodeAccessorFactory instance = new BytecodeAccessorFactory();
+        final GeneratedBeanAccessor accessor = (GeneratedBeanAccessor)instance.getAccessor(NamedImpl.class);
+        final LazyBeanAccessor fallback = (LazyBeanAccessor)accessor.fallback;
+        final int name = ClassProperties.of(NamedImpl.class).getProperty("name").getIndex();
+        final NamedImpl named = new NamedImpl();
+        accessor.set(named, name, "named");
+        assertEquals("named", accessor.get(named, name));
+        assertFalse(fallback.isCreated());
+        try{
+            accessor.get(named, ClassProperties.of(NamedImpl.class).size());
+            fail("Expected exception for index out of range");
+        }catch(RuntimeException expected) { }
+        assertTrue(fallback.isCreated());
+        
+        // Remote#getId is accessed via the fallback, which is hence created up front
+        final GeneratedBeanAccessor remote = (GeneratedBeanAccessor)instance.getAccessor(Remote.class);
+        assertFalse(remote.fallback instanceof LazyBeanAccessor);
+    }
+
+    @Test
+    public void testSetGivenValueToWiden() {
+        System.out.println("set given value to widen");
+        final BeanAccessor accessor = new BytecodeAccessorFactory().getAccessor(Measure.class);
+        assertTrue(accessor instanceof GeneratedBeanAccessor);
+        final ClassProperties properties = ClassProperties.of(Measure.class);
+        final int total = properties.getProperty("total").getIndex();
+        final int average = properties.getProperty("average").getIndex();
+        final int scale = properties.getProperty("scale").getIndex();
+        final Measure measure = new Measure();
+        accessor.set(measure, total, 3);
+        accessor.set(measure, average, 2);
+        accessor.set(measure, scale, (byte)4);
+        assertEquals(3L, measure.total);
+        assertEquals(2.0, measure.getAverage(), 0.0);
+        assertEquals((short)4, measure.getScale());
+        accessor.set(measure, average, 1.5f);
+        assertEquals(1.5, measure.getAverage(), 0.0);
+        accessor.set(measure, total, 'a');
+        assertEquals(97L, measure.total);
+        try{
+            accessor.set(measure, scale, 4);
+            fail("Expected exception for narrowing conversion");
+        }catch(ClassCastException expected) { }
+        try{
+            accessor.set(measure, total, null);
+            fail("Expected exception for null primitive");
+        }catch(NullPointerException expected) { }
+    }
+
+    @Test
+    public void testGetAndSetGivenCheckedException() {
+        System.out.println("get and set given checked exception");
+        final BeanAccessor accessor = new BytecodeAccessorFactory().getAccessor(Remote.class);
+        assertTrue(accessor instanceof GeneratedBeanAccessor);
+        final ClassProperties properties = ClassProperties.of(Remote.class);
+        final int id = properties.getProperty("id").getIndex();
+        final int name = properties.getProperty("name").getIndex();
+        final Remote remote = new Remote();
+        accessor.set(remote, name, "remote");
+        assertEquals("remote", accessor.get(remote, name));
+        try{
+            accessor.get(remote, id);
+            fail("Expected exception");
+        }catch(RuntimeException e) { 
+            assertTrue(e.getCause() instanceof IOException);
+        }
+        try{
+            accessor.set(remote, id, 1);
+            fail("Expected exception");
+        }catch(RuntimeException e) { 
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+}
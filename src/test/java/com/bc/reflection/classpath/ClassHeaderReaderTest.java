@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bc.reflection.classpath;
+
+import com.bc.reflection.Person;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * @author Chinomso Bassey Ikwuagwu on Oct 19, 2018 3:40:17 PM
+ */
+public class ClassHeaderReaderTest {
+    
+    @Retention(RetentionPolicy.CLASS)
+    @interface Marker { 
+        String [] value() default {};
+        Retention retention() default @Retention(RetentionPolicy.SOURCE);
+    }
+    
+    @Marker(value = {"a", "b"})
+    @Deprecated
+    static abstract class Annotated implements Runnable, Callable<Long> { 
+        private static final long SERIAL = 1L;
+        private static final double RATE = 0.5d;
+        private final String name = "annotated";
+    }
+    
+    public ClassHeaderReaderTest() { }
+    
+    private ClassHeader read(Class<?> type) throws IOException {
+        try(InputStream in = type.getResourceAsStream(
+                '/' + type.getName().replace('.', '/') + ".class")) {
+            return new ClassHeaderReader().read(in);
+        }
+    }
+
+    @Test
+    public void testRead() throws IOException {
+        System.out.println("read");
+        final ClassHeader result = read(Person.class);
+        assertEquals(Person.class.getName(), result.getName());
+        assertEquals(Object.class.getName(), result.getSuperName());
+        assertEquals(Collections.singletonList(Serializable.class.getName()), result.getInterfaceNames());
+        assertTrue(result.getAnnotationNames().isEmpty());
+        assertTrue(result.isPublic());
+        assertFalse(result.isInterface());
+    }
+
+    @Test
+    public void testReadAnnotated() throws IOException {
+        System.out.println("read annotated");
+        final ClassHeader result = read(Annotated.class);
+        assertEquals(Annotated.class.getName(), result.getName());
+        assertEquals(Arrays.asList(Runnable.class.getName(), Callable.class.getName()), result.getInterfaceNames());
+        assertTrue(result.hasAnnotation(Marker.class));
+        assertTrue(result.hasAnnotation(Deprecated.class));
+        assertTrue(result.hasInterface(Callable.class));
+        assertTrue(result.hasSuperClass(Object.class));
+        assertTrue(result.isAbstract());
+        assertTrue(read(Marker.class).isAnnotation());
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadGivenInvalidClassFile() throws IOException {
+        System.out.println("read invalid");
+        new ClassHeaderReader().read(new java.io.ByteArrayInputStream(new byte[]{(byte)0xCA, (byte)0xFE}));
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bc.reflection.classpath;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * @author Chinomso Bassey Ikwuagwu on Oct 19, 2018 11:02:45 AM
+ */
+public class ClassPathIndexTest {
+    
+    public ClassPathIndexTest() { }
+    
+    static File createJar(String... entryNames) throws IOException {
+        final File file = File.createTempFile(ClassPathIndexTest.class.getSimpleName(), ".jar");
+        file.deleteOnExit();
+        try(JarOutputStream out = new JarOutputStream(new FileOutputStream(file))) {
+            for(String entryName : entryNames) {
+                out.putNextEntry(new ZipEntry(entryName));
+                out.write(new byte[]{(byte)0xCA, (byte)0xFE, (byte)0xBA, (byte)0xBE});
+                out.closeEntry();
+            }
+        }
+        return file;
+    }
+    
+    static URL jarUrl(File jar, String packageName) throws IOException {
+        return new URL("jar:" + jar.toURI().toURL() + "!/" + packageName.replace('.', '/'));
+    }
+
+    @Test
+    public void testGetClassNamesFromJar() throws IOException {
+        System.out.println("getClassNames from jar");
+        final File jar = createJar("com/foo/A.class", "com/foo/bar/B.class", 
+                "com/foo/bar/B$1.class", "com/foo/bar/B$1Local.class", "com/foo/bar/B$Inner.class", 
+                "com/foobar/C.class", "org/com/foo/D.class",
+                "com/foo/package-info.class", "META-INF/versions/9/com/foo/E.class",
+                "com/foo/readme.txt");
+        final ClassPathIndex instance = new ClassPathIndex();
+        assertEquals(Arrays.asList("com.foo.A", "com.foo.bar.B", "com.foo.bar.B$Inner"), 
+                instance.getClassNames(jarUrl(jar, "com.foo"), "com.foo"));
+        assertEquals(Arrays.asList("com.foo.bar.B", "com.foo.bar.B$Inner"), 
+                instance.getClassNames(jarUrl(jar, "com.foo.bar"), "com.foo.bar"));
+        assertEquals(Arrays.asList("com.foobar.C"), 
+                instance.getClassNames(jarUrl(jar, "com.foobar"), "com.foobar"));
+        assertTrue(instance.getClassNames(jarUrl(jar, "com.none"), "com.none").isEmpty());
+    }
+
+    @Test
+    public void testGetClassNamesGivenPlusInPath() throws IOException {
+        System.out.println("getClassNames given plus in path");
+        final Path parent = Files.createTempDirectory(ClassPathIndexTest.class.getSimpleName());
+        final Path directory = Files.createDirectories(parent.resolve("a+b"));
+        final File jar = directory.resolve("x+y.jar").toFile();
+        Files.copy(createJar("com/foo/A.class").toPath(), jar.toPath());
+        final Path classes = Files.createDirectories(directory.resolve("classes+1/com/foo"));
+        Files.write(classes.resolve("B.class"), new byte[]{(byte)0xCA, (byte)0xFE, (byte)0xBA, (byte)0xBE});
+        try{
+            final ClassPathIndex instance = new ClassPathIndex();
+            assertEquals(Arrays.asList("com.foo.A"), 
+                    instance.getClassNames(jarUrl(jar, "com.foo"), "com.foo"));
+            assertEquals(Arrays.asList("com.foo.B"), 
+                    instance.getClassNames(classes.toUri().toURL(), "com.foo"));
+            assertEquals(jar, ClassPathIndex.toFile(jar.toURI().toURL()));
+            assertEquals(new File("/a b/x+y.jar").getAbsoluteFile(), 
+                    ClassPathIndex.toFile(new URL("file:/a%20b/x+y.jar")).getAbsoluteFile());
+        }finally{
+            Files.delete(classes.resolve("B.class"));
+            Files.delete(classes);
+            Files.delete(classes.getParent());
+            Files.delete(classes.getParent().getParent());
+            Files.delete(jar.toPath());
+            Files.delete(directory);
+            Files.delete(parent);
+        }
+    }
+
+    @Test
+    public void testGetClassNamesFromDirectory() throws IOException {
+        System.out.println("getClassNames from directory");
+        final String packageName = this.getClass().getPackage().getName();
+        final ClassPathIndex instance = new ClassPathIndex();
+        final List<String> result = new ArrayList<>();
+        final Enumeration<URL> urls = this.getClass().getClassLoader().getResources(packageName.replace('.', '/'));
+        while(urls.hasMoreElements()) {
+            result.addAll(instance.getClassNames(urls.nextElement(), packageName));
+        }
+        assertTrue(result.contains(this.getClass().getName()));
+        for(String className : result) {
+            assertTrue(className, className.startsWith(packageName + '.'));
+        }
+    }
+    
+    @Test
+    public void testIndexInParallel() throws IOException {
+        System.out.println("index in parallel");
+        final String packageName = "com.bc";
+        final List<URL> urls = new ArrayList<>(Collections.list(
+                this.getClass().getClassLoader().getResources(packageName.replace('.', '/'))));
+        for(int i=0; i<4; i++) {
+            urls.add(jarUrl(createJar("com/bc/A" + i + ".class", "com/bc/x/B" + i + ".class"), packageName));
+        }
+        final ClassPathIndex sequential = new ClassPathIndex();
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try{
+            final ClassPathIndex parallel = new ClassPathIndex(pool);
+            parallel.index(urls, packageName);
+            for(URL url : urls) {
+                final List<String> expected = sequential.getClassNames(url, packageName);
+                assertFalse(expected.isEmpty());
+                assertEquals(expected, parallel.getClassNames(url, packageName));
+            }
+        }finally{
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSave() throws IOException {
+        System.out.println("save");
+        final File jar = createJar("com/foo/A.class", "com/foo/bar/B.class");
+        final Path indexFile = Files.createTempFile(this.getClass().getSimpleName(), ".idx");
+        Files.delete(indexFile);
+        try{
+            final ClassPathIndex instance = new ClassPathIndex(null, indexFile);
+            final List<String> expected = instance.getClassNames(jarUrl(jar, "com.foo"), "com.foo");
+            instance.save();
+            assertTrue(Files.size(indexFile) > 0);
+            
+            final ClassPathIndex reloaded = new ClassPathIndex(null, indexFile);
+            assertEquals(expected, reloaded.getClassNames(jarUrl(jar, "com.foo"), "com.foo"));
+
+            // Same size and last modified time, different content
+            final long lastModified = jar.lastModified();
+            final long size = jar.length();
+            Files.copy(createJar("com/foo/C.class", "com/foo/bar/D.class").toPath(), 
+                    jar.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            assertTrue(jar.setLastModified(lastModified));
+            assertEquals(size, jar.length());
+            
+            assertEquals(Arrays.asList("com.foo.C", "com.foo.bar.D"), 
+                    new ClassPathIndex(null, indexFile).getClassNames(jarUrl(jar, "com.foo"), "com.foo"));
+        }finally{
+            Files.deleteIfExists(indexFile);
+        }
+    }
+    
+    @Test
+    public void testIndexFileReadWrite() throws IOException {
+        System.out.println("index file read/write");
+        final List<String> classNames = Arrays.asList("com.foo.A", "com.foo.A$1", "com.foo.bar.B", "org.C");
+        final Path indexFile = Files.createTempFile(this.getClass().getSimpleName(), ".idx");
+        try{
+            ClassPathIndexFile.write(indexFile, Collections.singletonList(
+                    new ClassPathIndexFile.Entry("file:/a.jar", 1, 2, 3, classNames)));
+            final ClassPathIndexFile.Entry result = ClassPathIndexFile.read(indexFile).get("file:/a.jar");
+            assertTrue(result.matches(1, 2, 3));
+            assertEquals(classNames, result.classNames);
+        }finally{
+            Files.deleteIfExists(indexFile);
+        }
+    }
+
+    @Test
+    public void testGetClassInfosGivenFilter() throws IOException {
+        System.out.println("getClassInfos given filter");
+        final String packageName = this.getClass().getPackage().getName();
+        final URL url = ClassHeaderReaderTest.class.getResource("ClassHeaderReaderTest.class");
+        final List<ClassInfo> result = new ClassPathIndex().getClassInfos(
+                new URL(url, "."), packageName, this.getClass().getClassLoader(),
+                (header) -> header.hasAnnotation(ClassHeaderReaderTest.Marker.class));
+        assertEquals(1, result.size());
+        // Named rather than referenced, as the class is deprecated
+        assertEquals(ClassHeaderReaderTest.class.getName() + "$Annotated", result.get(0).getName());
+    }
+    
+    @Test
+    public void testGetRootDirectory() {
+        System.out.println("getRootDirectory");
+        final File root = new File("classes");
+        assertEquals(root, ClassPathIndex.getRootDirectory(new File(root, "com"), "com"));
+        assertEquals(root, ClassPathIndex.getRootDirectory(new File(root, "com/bc/reflection"), "com.bc.reflection"));
+    }
+}
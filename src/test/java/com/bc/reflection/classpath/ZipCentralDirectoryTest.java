@@ -0,0 +1,196 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bc.reflection.classpath;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * @author Chinomso Bassey Ikwuagwu on Oct 20, 2018 4:48:17 PM
+ */
+public class ZipCentralDirectoryTest {
+    
+    public ZipCentralDirectoryTest() { }
+
+    @Test
+    public void testForEachEntryName() throws IOException {
+        System.out.println("forEachEntryName");
+        // Enough entries for a central directory larger than 64k
+        final String [] entryNames = new String[2000];
+        for(int i=0; i<entryNames.length; i++) {
+            entryNames[i] = "com/bc/pkg" + (i % 10) + "/Class" + i + ".class";
+        }
+        final File jar = ClassPathIndexTest.createJar(entryNames);
+        final List<String> expected = new ArrayList<>();
+        try(JarFile jarFile = new JarFile(jar)) {
+            final Enumeration<JarEntry> entries = jarFile.entries();
+            while(entries.hasMoreElements()) {
+                expected.add(entries.nextElement().getName());
+            }
+        }
+        final List<String> result = new ArrayList<>();
+        try(FileChannel channel = FileChannel.open(jar.toPath(), StandardOpenOption.READ)) {
+            final ZipCentralDirectory directory = ZipCentralDirectory.read(channel);
+            assertEquals(expected.size(), directory.entryCount);
+            directory.forEachEntryName(result::add);
+        }
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void testForEachEntryNameGivenUtf8NameNotFlagged() throws IOException {
+        System.out.println("forEachEntryName given UTF-8 name not flagged");
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try(ZipOutputStream out = new ZipOutputStream(bytes, StandardCharsets.UTF_8)) {
+            out.putNextEntry(new ZipEntry("com/foo/Caf\u00e9.class"));
+            out.closeEntry();
+        }
+        // Clear the UTF-8 flag of the local and central directory headers
+        final byte [] data = bytes.toByteArray();
+        final ByteBuffer buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+        for(int i=0; i<data.length - 10; i++) {
+            if(buffer.getInt(i) == 0x04034b50) {
+                buffer.putShort(i + 6, (short)(buffer.getShort(i + 6) & ~0x800));
+            }else if(buffer.getInt(i) == 0x02014b50) {
+                buffer.putShort(i + 8, (short)(buffer.getShort(i + 8) & ~0x800));
+            }
+        }
+        final File jar = File.createTempFile(ZipCentralDirectoryTest.class.getSimpleName(), ".jar");
+        jar.deleteOnExit();
+        Files.write(jar.toPath(), data);
+        final List<String> expected = new ArrayList<>();
+        try(JarFile jarFile = new JarFile(jar)) {
+            final Enumeration<JarEntry> entries = jarFile.entries();
+            while(entries.hasMoreElements()) {
+                expected.add(entries.nextElement().getName());
+            }
+        }
+        assertEquals(Arrays.asList("com/foo/Caf\u00e9.class"), expected);
+        final List<String> result = new ArrayList<>();
+        try(FileChannel channel = FileChannel.open(jar.toPath(), StandardOpenOption.READ)) {
+            ZipCentralDirectory.read(channel).forEachEntryName(result::add);
+        }
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void testLocate() throws IOException {
+        System.out.println("locate");
+        final String [] entryNames = new String[2000];
+        for(int i=0; i<entryNames.length; i++) {
+            entryNames[i] = "com/bc/pkg" + (i % 10) + "/Class" + i + ".class";
+        }
+        final File jar = ClassPathIndexTest.createJar(entryNames);
+        try(FileChannel channel = FileChannel.open(jar.toPath(), StandardOpenOption.READ)) {
+            final ZipCentralDirectory located = ZipCentralDirectory.locate(channel);
+            final ZipCentralDirectory loaded = ZipCentralDirectory.read(channel);
+            assertEquals(loaded.entryCount, located.entryCount);
+            assertEquals(loaded.hash(), located.hash());
+            try{
+                located.forEachEntryName(name -> {});
+                fail("Expected IllegalStateException for a central directory not loaded");
+            }catch(IllegalStateException expected) { }
+            final List<String> result = new ArrayList<>();
+            located.load(channel).forEachEntryName(result::add);
+            assertEquals(entryNames.length, result.size());
+        }
+    }
+
+    @Test
+    public void testGetInputStream() throws IOException {
+        System.out.println("getInputStream");
+        final byte [] content = "com.foo.A\ncom.foo.A\ncom.foo.A\n".getBytes(StandardCharsets.UTF_8);
+        final File jar = File.createTempFile(ZipCentralDirectoryTest.class.getSimpleName(), ".jar");
+        jar.deleteOnExit();
+        try(JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            out.putNextEntry(new ZipEntry("deflated"));
+            out.write(content);
+            out.closeEntry();
+            final ZipEntry stored = new ZipEntry("stored");
+            stored.setMethod(ZipEntry.STORED);
+            stored.setSize(content.length);
+            final CRC32 crc = new CRC32();
+            crc.update(content);
+            stored.setCrc(crc.getValue());
+            out.putNextEntry(stored);
+            out.write(content);
+            out.closeEntry();
+        }
+        try(FileChannel channel = FileChannel.open(jar.toPath(), StandardOpenOption.READ)) {
+            final ZipCentralDirectory directory = ZipCentralDirectory.read(channel);
+            assertArrayEquals(content, readAll(directory.getInputStream(channel, "deflated")));
+            assertArrayEquals(content, readAll(directory.getInputStream(channel, "stored")));
+            assertNull(directory.getInputStream(channel, "none"));
+        }
+    }
+    
+    @Test
+    public void testReadGivenPrefixedArchive() throws IOException {
+        System.out.println("read prefixed archive");
+        final byte [] content = "com.foo.A\n".getBytes(StandardCharsets.UTF_8);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write("#!/bin/sh\nexec java -jar \"$0\" \"$@\"\n".getBytes(StandardCharsets.UTF_8));
+        final int prefix = bytes.size();
+        try(JarOutputStream out = new JarOutputStream(bytes)) {
+            out.putNextEntry(new ZipEntry("com/foo/A.class"));
+            out.write(content);
+            out.closeEntry();
+        }
+        final File jar = File.createTempFile(ZipCentralDirectoryTest.class.getSimpleName(), ".jar");
+        jar.deleteOnExit();
+        try(FileOutputStream out = new FileOutputStream(jar)) {
+            bytes.writeTo(out);
+        }
+        try(FileChannel channel = FileChannel.open(jar.toPath(), StandardOpenOption.READ)) {
+            final ZipCentralDirectory directory = ZipCentralDirectory.read(channel);
+            assertEquals(prefix, directory.prefix);
+            final List<String> result = new ArrayList<>();
+            directory.forEachEntryName(result::add);
+            assertEquals(Arrays.asList("com/foo/A.class"), result);
+            assertArrayEquals(content, readAll(directory.getInputStream(channel, "com/foo/A.class")));
+        }
+    }
+    
+    private static byte [] readAll(InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte [] buffer = new byte[256];
+        for(int n; (n = in.read(buffer)) != -1; ) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+}
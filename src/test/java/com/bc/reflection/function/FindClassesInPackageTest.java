@@ -1,8 +1,16 @@
 package com.bc.reflection.function;
 
+import com.bc.reflection.classpath.ClassHeader;
+import com.bc.reflection.classpath.ClassInfo;
+import com.bc.reflection.classpath.ClassPathIndex;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import org.junit.Test;
 
@@ -27,4 +35,57 @@ public class FindClassesInPackageTest {
         assertThat(result.size(), not(0));
 //        System.out.println(result.stream().map(Object::toString).collect(Collectors.joining("\n")));
     }
+
+    @Test
+    public void testApplyInParallel() {
+        System.out.println("apply in parallel");
+        
+        String packageName = "com.bc.reflection";
+        List<Class<?>> expected = new FindClassesInPackage(new ClassPathIndex()).apply(packageName);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try{
+            List<Class<?>> result = new FindClassesInPackage(pool).apply(packageName);
+            assertThat(result.size(), not(0));
+            assertThat(result, is(expected));
+        }finally{
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Test of getClassInfos method, of class FindClassesInPackage.
+     */
+    @Test
+    public void testGetClassInfos() throws Exception {
+        System.out.println("getClassInfos");
+        
+        String packageName = this.getClass().getPackage().getName();
+        FindClassesInPackage instance = new FindClassesInPackage();
+        List<ClassInfo> result = instance.getClassInfos(packageName);
+        assertThat(result.size(), not(0));
+        ClassInfo info = null;
+        for(ClassInfo each : result) {
+            if(each.getName().equals(this.getClass().getName())) {
+                info = each;
+            }
+        }
+        assertThat(info, notNullValue());
+        assertThat(info.getPackageName(), is(packageName));
+        assertThat(info.load(), sameInstance((Object)this.getClass()));
+    }
+
+    @Test
+    public void testStream() throws Exception {
+        System.out.println("stream");
+        
+        String packageName = "com.bc.reflection";
+        FindClassesInPackage instance = new FindClassesInPackage(new ClassPathIndex());
+        List<ClassInfo> expected = instance.getClassInfos(packageName, ClassHeader::isInterface);
+        try(Stream<ClassInfo> stream = instance.stream(packageName, ClassHeader::isInterface)) {
+            assertThat(stream.collect(Collectors.toList()), is(expected));
+        }
+        try(Stream<ClassInfo> stream = instance.stream(packageName)) {
+            assertThat(stream.findFirst().isPresent(), is(true));
+        }
+    }
 }
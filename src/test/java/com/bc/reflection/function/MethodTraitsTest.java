@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection.function;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.function.Predicate;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * @author Chinomso Bassey Ikwuagwu on Oct 22, 2018 3:10:27 PM
+ */
+public class MethodTraitsTest {
+    
+    public static class Bean {
+        public boolean isActive() { return true; }
+        public void setActive(boolean active) { }
+        public String getName() { return null; }
+        public Bean name(String name) { return this; }
+        public static Bean of(String name) { return null; }
+    }
+    
+    public MethodTraitsTest() { }
+
+    @Test
+    public void testTraitsOf() throws Exception {
+        System.out.println("traitsOf");
+        final int isActive = MethodTraits.traitsOf(Bean.class.getMethod("isActive"));
+        assertEquals(MethodTraits.GETTER | MethodTraits.BOOLEAN_IS | MethodTraits.PUBLIC, isActive);
+        assertEquals(MethodTraits.SETTER | MethodTraits.PUBLIC, 
+                MethodTraits.traitsOf(Bean.class.getMethod("setActive", boolean.class)));
+        assertEquals(MethodTraits.FLUENT | MethodTraits.PUBLIC, 
+                MethodTraits.traitsOf(Bean.class.getMethod("name", String.class)));
+        assertEquals(MethodTraits.STATIC | MethodTraits.PUBLIC, 
+                MethodTraits.traitsOf(Bean.class.getMethod("of", String.class)));
+    }
+
+    @Test
+    public void testSelect() throws Exception {
+        System.out.println("select");
+        final MethodTraits instance = MethodTraits.of(Bean.class);
+        assertSame(instance, MethodTraits.of(Bean.class));
+        final List<Method> getters = instance.select(MethodTraits.GETTER);
+        assertEquals(2, getters.size());
+        assertEquals(1, instance.select(MethodTraits.GETTER, MethodTraits.BOOLEAN_IS).size());
+        assertEquals(Bean.class.getMethod("name", String.class), instance.select(MethodTraits.FLUENT).get(0));
+        assertTrue(instance.select(MethodTraits.SYNTHETIC).isEmpty());
+    }
+
+    @Test
+    public void testCompose() throws Exception {
+        System.out.println("compose");
+        final Predicate<Method> accessor = MethodTraits.hasAny(MethodTraits.GETTER | MethodTraits.SETTER)
+                .and(MethodTraits.hasAny(MethodTraits.BOOLEAN_IS).negate());
+        assertTrue(accessor.test(Bean.class.getMethod("getName")));
+        assertTrue(accessor.test(Bean.class.getMethod("setActive", boolean.class)));
+        assertFalse(accessor.test(Bean.class.getMethod("isActive")));
+        assertTrue(MethodTraits.hasAll(MethodTraits.GETTER | MethodTraits.BOOLEAN_IS)
+                .or(MethodIsSetter.INSTANCE).test(Bean.class.getMethod("isActive")));
+    }
+
+    @Test
+    public void testGetTraits() throws Exception {
+        System.out.println("getTraits");
+        final MethodTraits instance = MethodTraits.of(Bean.class);
+        final Method isActive = Bean.class.getMethod("isActive");
+        assertEquals(MethodTraits.traitsOf(isActive), instance.getTraits(isActive));
+        assertEquals(MethodTraits.traitsOf(isActive), MethodTraits.cachedTraitsOf(isActive));
+        final Method toString = Object.class.getMethod("toString");
+        assertEquals(MethodTraits.traitsOf(toString), instance.getTraits(toString));
+        for(int i=0; i<instance.size(); i++) {
+            assertEquals(instance.getTraits(i), instance.getTraits(instance.getMethod(i)));
+        }
+    }
+}
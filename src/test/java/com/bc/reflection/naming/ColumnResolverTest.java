@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bc.reflection.naming;
+
+import com.bc.reflection.ClassProperties;
+import com.bc.reflection.Person;
+import com.bc.reflection.Property;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * @author Chinomso Bassey Ikwuagwu on Oct 21, 2018 12:05:19 PM
+ */
+public class ColumnResolverTest {
+    
+    public static class Contact {
+        private String dateOfBirth;
+        public String getDateOfBirth() { return dateOfBirth; }
+        public void setDateOfBirth(String dateOfBirth) { this.dateOfBirth = dateOfBirth; }
+    }
+    
+    public ColumnResolverTest() { }
+
+    @Test
+    public void testToPropertyName() {
+        System.out.println("toPropertyName");
+        assertEquals("firstName", NamingStrategy.IDENTITY.toPropertyName("firstName"));
+        assertEquals("firstname", NamingStrategy.ALPHA_NUMERIC.toPropertyName("first_name"));
+        assertEquals("dateOfBirth", NamingStrategy.SNAKE_CASE.toPropertyName("date_of_birth"));
+        assertEquals("dateOfBirth", NamingStrategy.SNAKE_CASE.toPropertyName("_date__of_birth"));
+        assertEquals("dateOfBirth", NamingStrategy.UPPER_SNAKE_CASE.toPropertyName("DATE_OF_BIRTH"));
+        assertEquals("dateOfBirth", NamingStrategy.KEBAB_CASE.toPropertyName("date-of-birth"));
+        final NamingStrategy alias = new AliasNamingStrategy(
+                Collections.singletonMap("dob", "dateOfBirth"), NamingStrategy.SNAKE_CASE);
+        assertEquals("dateOfBirth", alias.toPropertyName("dob"));
+        assertEquals("firstName", alias.toPropertyName("first_name"));
+    }
+
+    @Test
+    public void testResolve() {
+        System.out.println("resolve");
+        final ColumnResolver instance = ColumnResolver.of(Person.class, NamingStrategy.UPPER_SNAKE_CASE);
+        assertSame(instance, ColumnResolver.of(Person.class, NamingStrategy.UPPER_SNAKE_CASE));
+        assertNotSame(instance, ColumnResolver.of(Person.class, NamingStrategy.SNAKE_CASE));
+        final Property dateOfBirth = ClassProperties.of(Person.class).getProperty("dateOfBirth");
+        assertSame(dateOfBirth, instance.resolve("DATE_OF_BIRTH"));
+        assertSame(dateOfBirth, instance.resolve("DATE_OF_BIRTH"));
+        assertNull(instance.resolve("UNKNOWN"));
+        assertNull(instance.resolve("UNKNOWN"));
+        assertArrayEquals(new Property[]{instance.resolve("FIRST_NAME"), null, dateOfBirth}, 
+                instance.resolveAll(Arrays.asList("FIRST_NAME", "UNKNOWN", "DATE_OF_BIRTH")));
+        assertEquals("firstName", instance.resolve("FIRST_NAME").getName());
+    }
+
+    @Test
+    public void testResolveGivenManyUnknownColumns() {
+        System.out.println("resolve given many unknown columns");
+        final AtomicInteger calls = new AtomicInteger();
+        final ColumnResolver instance = ColumnResolver.create(Contact.class, (columnName) -> {
+            calls.incrementAndGet();
+            return NamingStrategy.SNAKE_CASE.toPropertyName(columnName);
+        });
+        for(int i = 0; i <= ColumnResolver.MAX_CACHED_MISSES; i++) {
+            assertNull(instance.resolve("unknown_" + i));
+        }
+        assertNotNull(instance.resolve("date_of_birth"));
+        calls.set(0);
+        for(int i = 0; i < ColumnResolver.MAX_CACHED_MISSES; i++) {
+            assertNull(instance.resolve("unknown_" + i));
+        }
+        assertNotNull(instance.resolve("date_of_birth"));
+        assertEquals(0, calls.get());
+        assertNull(instance.resolve("unknown_" + ColumnResolver.MAX_CACHED_MISSES));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testOfGivenEqualStrategies() {
+        System.out.println("of given equal strategies");
+        // Contact is used by no other test, so filling its cache here does not
+        // leave other tests with uncached resolvers
+        final ColumnResolver instance = ColumnResolver.of(Contact.class, new AliasNamingStrategy(
+                Collections.singletonMap("dob", "dateOfBirth"), NamingStrategy.SNAKE_CASE));
+        assertSame(instance, ColumnResolver.of(Contact.class, new AliasNamingStrategy(
+                Collections.singletonMap("dob", "dateOfBirth"), NamingStrategy.SNAKE_CASE)));
+        assertSame(ColumnResolver.of(Contact.class, NamingStrategy.KEBAB_CASE), 
+                ColumnResolver.of(Contact.class, new DelimitedNamingStrategy('-', true, false)));
+        assertNotSame(instance, ColumnResolver.create(Contact.class, new AliasNamingStrategy(
+                Collections.singletonMap("dob", "dateOfBirth"), NamingStrategy.SNAKE_CASE)));
+        for(int i = 0; i < ColumnResolver.MAX_CACHED_STRATEGIES; i++) {
+            final NamingStrategy strategy = new AliasNamingStrategy(
+                    Collections.singletonMap("dob" + i, "dateOfBirth"));
+            assertEquals("dateOfBirth", ColumnResolver.of(Contact.class, strategy)
+                    .resolve("dob" + i).getName());
+        }
+        assertSame(instance, ColumnResolver.of(Contact.class, new AliasNamingStrategy(
+                Collections.singletonMap("dob", "dateOfBirth"), NamingStrategy.SNAKE_CASE)));
+    }
+}
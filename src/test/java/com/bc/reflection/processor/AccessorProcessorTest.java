@@ -0,0 +1,144 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bc.reflection.processor;
+
+import com.bc.reflection.ClassProperties;
+import com.bc.reflection.ReflectionUtil;
+import com.bc.reflection.accessor.AccessorFactory;
+import com.bc.reflection.accessor.BeanAccessor;
+import com.bc.reflection.accessor.GenerateAccessor;
+import com.bc.reflection.accessor.GeneratedAccessorFactory;
+import com.bc.reflection.accessor.LambdaAccessorFactory;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * @author Chinomso Bassey Ikwuagwu on Oct 23, 2018 3:05:22 PM
+ */
+public class AccessorProcessorTest {
+    
+    public AccessorProcessorTest() { }
+
+    @Test
+    public void testProcess() throws Exception {
+        System.out.println("process");
+        final Path output = ClassIndexProcessorTest.compile(new AccessorProcessor(), 
+                "a/Named.java", "package a; public interface Named { default String getDisplayName() { return \"named\"; } }",
+                "a/Base.java", "package a; public abstract class Base<T> { T id; public T getId() { return id; } public void setId(T id) { this.id = id; } }",
+                "a/Entry.java", "package a; @com.bc.reflection.accessor.GenerateAccessor public class Entry extends Base<Long> implements Named { " + 
+                        "private int count; public int getCount() { return count; } public void setCount(int count) { this.count = count; } " + 
+                        "public double score; final String code = \"x\"; private String hidden; }");
+        if(output == null) {
+            return;
+        }
+        try(URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, this.getClass().getClassLoader())) {
+            final Class<?> type = loader.loadClass("a.Entry");
+            final Class<?> generated = loader.loadClass("a.Entry" + GenerateAccessor.SUFFIX);
+            assertEquals(Arrays.asList("code", "count", "displayName", "id", "score"), 
+                    Arrays.asList((String[])generated.getField(GenerateAccessor.PROPERTY_NAMES).get(null)));
+            assertEquals(Arrays.asList(String.class, int.class, String.class, Long.class, double.class), 
+                    Arrays.asList((Class[])generated.getField(GenerateAccessor.PROPERTY_TYPES).get(null)));
+            
+            final AtomicInteger delegated = new AtomicInteger();
+            final AccessorFactory accessorFactory = new GeneratedAccessorFactory(new LambdaAccessorFactory() {
+                @Override
+                protected BeanAccessor newAccessor(ClassProperties properties) {
+                    delegated.incrementAndGet();
+                    return super.newAccessor(properties);
+                }
+            });
+            
+            assertNotSame(new LambdaAccessorFactory().getAccessor(type).getClass(), 
+                    accessorFactory.getAccessor(type).getClass());
+            
+            final ReflectionUtil reflection = new ReflectionUtil(accessorFactory);
+            final Object entry = type.newInstance();
+            reflection.setValue(entry, "count", 3);
+            reflection.setValue(entry, "score", 1.5);
+            reflection.setValue(entry, "id", 7L);
+            assertEquals(3, reflection.getValue(entry, "count"));
+            assertEquals(1.5, reflection.getValue(entry, "score"));
+            assertEquals(7L, reflection.getValue(entry, "id"));
+            assertEquals("named", reflection.getValue(entry, "displayName"));
+            assertEquals("x", reflection.getValue(entry, "code"));
+            
+            final int count = ClassProperties.of(type).getProperty("count").getIndex();
+            assertEquals(3, accessorFactory.getAccessor(type).getInt(entry, count));
+            assertEquals(3L, accessorFactory.getAccessor(type).getLong(entry, count));
+            
+            assertEquals(3, new ReflectionUtil().getValue(entry, "count"));
+
+            reflection.setInt(entry, "count", 4);
+            reflection.setInt(entry, "score", 2);
+            assertEquals(4, reflection.getInt(entry, "count"));
+            assertEquals(2.0, reflection.getDouble(entry, "score"), 0.0);
+            
+            // Every property is generated, hence the delegate is never used
+            assertEquals(0, delegated.get());
+        }
+    }
+
+
+    @Test
+    public void testProcessGivenCheckedExceptionsAndWidening() throws Exception {
+        System.out.println("process given checked exceptions and widening");
+        final Path output = ClassIndexProcessorTest.compile(new AccessorProcessor(), 
+                "b/Remote.java", "package b; @com.bc.reflection.accessor.GenerateAccessor public class Remote { " + 
+                        "private long id; public long getId() throws java.io.IOException { if(id < 0) throw new java.io.IOException(); return id; } " + 
+                        "public void setId(long id) throws java.io.IOException { if(id < 0) throw new java.io.IOException(); this.id = id; } " + 
+                        "public double total; }");
+        if(output == null) {
+            return;
+        }
+        try(URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, this.getClass().getClassLoader())) {
+            final Class<?> type = loader.loadClass("b.Remote");
+            assertNotNull(loader.loadClass("b.Remote" + GenerateAccessor.SUFFIX));
+            final ReflectionUtil reflection = new ReflectionUtil(
+                    new GeneratedAccessorFactory(new LambdaAccessorFactory()));
+            final Object remote = type.newInstance();
+            reflection.setValue(remote, "id", 3);
+            reflection.setValue(remote, "total", 2);
+            assertEquals(3L, reflection.getValue(remote, "id"));
+            assertEquals(2.0, reflection.getValue(remote, "total"));
+            assertEquals(3L, reflection.getLong(remote, "id"));
+            try{
+                reflection.setValue(remote, "id", -1L);
+                fail("Expected exception");
+            }catch(UnsupportedOperationException expected) { }
+            try{
+                reflection.setLong(remote, "id", -1L);
+                fail("Expected exception");
+            }catch(UnsupportedOperationException expected) { }
+            final int id = ClassProperties.of(type).getProperty("id").getIndex();
+            final Field field = type.getDeclaredField("id");
+            field.setAccessible(true);
+            field.setLong(remote, -1L);
+            try{
+                new GeneratedAccessorFactory(new LambdaAccessorFactory()).getAccessor(type).get(remote, id);
+                fail("Expected exception");
+            }catch(RuntimeException e) {
+                assertTrue(e.getCause() instanceof IOException);
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2018 NUROX Ltd.
+ *
+ * Licensed under the NUROX Ltd Software License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.looseboxes.com/legal/licenses/software.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bc.reflection.processor;
+
+import com.bc.reflection.classpath.ClassPathIndex;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.processing.Processor;
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * @author Chinomso Bassey Ikwuagwu on Oct 20, 2018 3:30:41 PM
+ */
+public class ClassIndexProcessorTest {
+    
+    private static final List<String> ENABLED = 
+            Collections.singletonList("-A" + ClassIndexProcessor.OPTION_ENABLED + "=true");
+    
+    public ClassIndexProcessorTest() { }
+    
+    /**
+     * Compiles the sources with the specified processor
+     * @return The class output directory or null if no compiler is available
+     */
+    static Path compile(Processor processor, String... sources) throws IOException {
+        return compile(null, Collections.emptyList(), processor, sources);
+    }
+    
+    /**
+     * Compiles the sources with the specified processor
+     * @param outputDir The class output directory or null to create one
+     * @param options Additional compiler options
+     * @return The class output directory or null if no compiler is available
+     */
+    static Path compile(Path outputDir, List<String> options, Processor processor, 
+            String... sources) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if(compiler == null) {
+            System.out.println("No system java compiler, skipping test");
+            return null;
+        }
+        final Path sourceDir = Files.createTempDirectory("src");
+        if(outputDir == null) {
+            outputDir = Files.createTempDirectory("classes");
+        }
+        final File [] files = new File[sources.length / 2];
+        for(int i=0; i<sources.length; i+=2) {
+            final Path file = sourceDir.resolve(sources[i]);
+            Files.createDirectories(file.getParent());
+            Files.write(file, sources[i + 1].getBytes(StandardCharsets.UTF_8));
+            files[i / 2] = file.toFile();
+        }
+        try(StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            final List<String> arguments = new ArrayList<>(Arrays.asList(
+                    "-d", outputDir.toString(), "-classpath", System.getProperty("java.class.path")));
+            arguments.addAll(options);
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                    arguments, null, fileManager.getJavaFileObjects(files));
+            task.setProcessors(Collections.singletonList(processor));
+            assertTrue("Compilation failed", task.call());
+        }
+        return outputDir;
+    }
+
+    @Test
+    public void testProcess() throws IOException {
+        System.out.println("process");
+        final Path output = compile(null, ENABLED, new ClassIndexProcessor(), 
+                "a/b/Foo.java", "package a.b; public class Foo { static class Inner { } Runnable r = new Runnable() { public void run() { } }; }",
+                "a/Bar.java", "package a; interface Bar { }");
+        if(output == null) {
+            return;
+        }
+        final List<String> result = Files.readAllLines(
+                output.resolve(ClassPathIndex.CLASS_INDEX_RESOURCE), StandardCharsets.UTF_8);
+        assertEquals(Arrays.asList("a.Bar", "a.b.Foo", "a.b.Foo$Inner"), result);
+        
+        // The index is read instead of scanning the directory, listed classes 
+        // which no longer exist are dropped
+        Files.copy(output.resolve("a/Bar.class"), output.resolve("a/Unlisted.class"));
+        Files.delete(output.resolve("a/Bar.class"));
+        final List<String> classNames = new ClassPathIndex().getClassNames(
+                output.resolve("a").toUri().toURL(), "a");
+        assertEquals(Arrays.asList("a.b.Foo", "a.b.Foo$Inner"), classNames);
+    }
+
+    @Test
+    public void testProcessGivenScannedRoot() throws IOException {
+        System.out.println("process given scanned root");
+        final String [] sources = {"a/Foo.java", "package a; public class Foo { " +
+                "static class Inner { } " + 
+                "Runnable r = new Runnable() { public void run() { } }; " +
+                "void run() { class Local { } new Local(); } }"};
+        final Path indexed = compile(null, ENABLED, new ClassIndexProcessor(), sources);
+        if(indexed == null) {
+            return;
+        }
+        final Path scanned = compile(new ClassIndexProcessor(), sources);
+        assertTrue(Files.exists(indexed.resolve(ClassPathIndex.CLASS_INDEX_RESOURCE)));
+        assertFalse(Files.exists(scanned.resolve(ClassPathIndex.CLASS_INDEX_RESOURCE)));
+        final List<String> expected = new ClassPathIndex().getClassNames(
+                scanned.resolve("a").toUri().toURL(), "a");
+        assertEquals(Arrays.asList("a.Foo", "a.Foo$Inner"), expected);
+        assertEquals(expected, new ClassPathIndex().getClassNames(
+                indexed.resolve("a").toUri().toURL(), "a"));
+    }
+
+    @Test
+    public void testProcessIncrementally() throws IOException {
+        System.out.println("process incrementally");
+        final Path output = compile(null, ENABLED, new ClassIndexProcessor(), 
+                "a/Foo.java", "package a; public class Foo { }",
+                "a/Bar.java", "package a; public class Bar { }");
+        if(output == null) {
+            return;
+        }
+        Files.delete(output.resolve("a/Bar.class"));
+        compile(output, ENABLED, new ClassIndexProcessor(), "a/Baz.java", "package a; public class Baz { }");
+        final List<String> result = Files.readAllLines(
+                output.resolve(ClassPathIndex.CLASS_INDEX_RESOURCE), StandardCharsets.UTF_8);
+        assertEquals(Arrays.asList("a.Baz", "a.Foo"), result);
+    }
+
+    @Test
+    public void testProcessGivenNotEnabled() throws IOException {
+        System.out.println("process not enabled");
+        final Path output = compile(new ClassIndexProcessor(), "a/Foo.java", "package a; public class Foo { }");
+        if(output == null) {
+            return;
+        }
+        assertFalse(Files.exists(output.resolve(ClassPathIndex.CLASS_INDEX_RESOURCE)));
+    }
+}